@@ -0,0 +1,98 @@
+package com.parkinglot.benchmarks;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingLotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-side queries against a pre-filled lot: plate search, availability,
+ * fee quotes and per-type listings.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int lotSize;
+
+    @Param({"0.5", "0.95"})
+    public double fillRatio;
+
+    @Param({"CARS", "MIXED"})
+    public VehicleMix vehicleMix;
+
+    private ParkingLotService service;
+    private String[] licensePlates;
+    private String[] ticketIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LotFixture fixture = LotFixture.create(lotSize, fillRatio, vehicleMix);
+        service = fixture.service;
+        List<ParkingTicket> tickets = fixture.tickets;
+        licensePlates = new String[tickets.size()];
+        ticketIds = new String[tickets.size()];
+        for (int i = 0; i < tickets.size(); i++) {
+            licensePlates[i] = tickets.get(i).getLicensePlate();
+            ticketIds[i] = tickets.get(i).getTicketId();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance(int bound) {
+            int i = next;
+            next = i + 1 < bound ? i + 1 : 0;
+            return i;
+        }
+    }
+
+    @Benchmark
+    public Vehicle findVehicleByLicensePlate(Cursor cursor) {
+        return service.findVehicleByLicensePlate(licensePlates[cursor.advance(licensePlates.length)]);
+    }
+
+    @Benchmark
+    public BigDecimal calculateParkingFee(Cursor cursor) throws ParkingException {
+        return service.calculateParkingFee(ticketIds[cursor.advance(ticketIds.length)]);
+    }
+
+    @Benchmark
+    public Map<SpaceSize, Integer> getAvailableSpaces() {
+        return service.getAvailableSpaces();
+    }
+
+    @Benchmark
+    public int getAvailableSpacesBySize() {
+        return service.getAvailableSpaces(SpaceSize.MEDIUM);
+    }
+
+    @Benchmark
+    public double getOccupancyRate() {
+        return service.getOccupancyRate();
+    }
+
+    @Benchmark
+    public boolean isFull() {
+        return service.isFull();
+    }
+
+    @Benchmark
+    public List<Vehicle> getAllVehiclesOfType() {
+        return service.getAllVehiclesOfType(VehicleType.CAR);
+    }
+}
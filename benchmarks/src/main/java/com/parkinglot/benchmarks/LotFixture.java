@@ -0,0 +1,56 @@
+package com.parkinglot.benchmarks;
+
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.services.ParkingLotService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a lot of a given size and pre-fills it to a given ratio of the
+ * spaces its vehicle mix can use, so a cars-only lot is not counted as having
+ * room in its small spaces. Spaces are split 20% small, 60% medium and 20%
+ * large. Setup fails if fewer vehicles fit than asked for, rather than
+ * leaving a benchmark to measure rejections.
+ */
+final class LotFixture {
+    final ParkingLotService service;
+    final List<ParkingTicket> tickets;
+
+    private LotFixture(ParkingLotService service, List<ParkingTicket> tickets) {
+        this.service = service;
+        this.tickets = tickets;
+    }
+
+    static LotFixture create(int lotSize, double fillRatio, VehicleMix mix) {
+        return create(lotSize, fillRatio, mix, 0);
+    }
+
+    /**
+     * @param parkedByCaller vehicles the caller parks itself afterwards; they
+     *                       count towards the fill ratio and must still fit
+     */
+    static LotFixture create(int lotSize, double fillRatio, VehicleMix mix, int parkedByCaller) {
+        int small = lotSize / 5;
+        int large = lotSize / 5;
+        int medium = lotSize - small - large;
+        ParkingLotService service = new ParkingLotService(small, medium, large);
+
+        int target = (int) (mix.usableSpaces(small, medium, large) * fillRatio) - parkedByCaller;
+        if (target < 0) {
+            throw new IllegalStateException("A " + mix + " lot of " + lotSize + " filled to " + fillRatio
+                    + " has no room for " + parkedByCaller + " more vehicles");
+        }
+        List<ParkingTicket> tickets = new ArrayList<>(target);
+        for (int i = 0; i < target; i++) {
+            try {
+                tickets.add(service.parkVehicle(mix.create("FILL" + i, i)));
+            } catch (ParkingException e) {
+                throw new IllegalStateException("Only " + i + " of " + target + " " + mix + " vehicles fit a lot of "
+                        + lotSize, e);
+            }
+        }
+        return new LotFixture(service, tickets);
+    }
+}
@@ -0,0 +1,44 @@
+package com.parkinglot.benchmarks;
+
+import com.parkinglot.enums.ParkingOperation;
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.metrics.ParkingMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording one call in {@link ParkingMetrics}, excluding the two
+ * clock reads around the call itself. Run with {@code -t} to see the effect
+ * of concurrent gates on the striped counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+    private final ParkingMetrics metrics = new ParkingMetrics();
+
+    @State(Scope.Thread)
+    public static class Latency {
+        long nanos;
+
+        // Walks through a realistic spread of latencies so different buckets are touched
+        long next() {
+            nanos = nanos < 100_000 ? nanos + 37 : 200;
+            return nanos;
+        }
+    }
+
+    @Benchmark
+    public void recordSuccess(Latency latency) {
+        metrics.record(ParkingOperation.PARK, ParkingStatus.SUCCESS, latency.next());
+    }
+
+    @Benchmark
+    public void recordFailure(Latency latency) {
+        metrics.record(ParkingOperation.PARK, ParkingStatus.NO_AVAILABLE_SPACE, latency.next());
+    }
+}
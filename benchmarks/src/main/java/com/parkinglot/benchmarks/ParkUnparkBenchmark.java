@@ -0,0 +1,96 @@
+package com.parkinglot.benchmarks;
+
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingLotService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state gate traffic: every operation lets one vehicle out and parks
+ * it again. Run with {@code -t N} to simulate N concurrent gates. Each gate
+ * parks its own vehicles during setup, and together with the fixture they
+ * fill the lot to the requested ratio. A round whose park is refused, e.g.
+ * because another gate took the space, is reported in the
+ * {@code failedRounds} counter.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParkUnparkBenchmark {
+    private static final int VEHICLES_PER_GATE = 16;
+
+    @State(Scope.Benchmark)
+    public static class Lot {
+        @Param({"100", "10000", "1000000"})
+        public int lotSize;
+
+        @Param({"0.5", "0.95"})
+        public double fillRatio;
+
+        @Param({"CARS", "MIXED"})
+        public VehicleMix vehicleMix;
+
+        ParkingLotService service;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkParams params) {
+            service = LotFixture.create(lotSize, fillRatio, vehicleMix, params.getThreads() * VEHICLES_PER_GATE).service;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Gate {
+        Vehicle[] vehicles;
+        String[] ticketIds;
+        int next;
+        // Reported by JMH next to the score
+        public long failedRounds;
+
+        @Setup(Level.Trial)
+        public void setUp(Lot lot, ThreadParams threadParams) {
+            vehicles = new Vehicle[VEHICLES_PER_GATE];
+            ticketIds = new String[VEHICLES_PER_GATE];
+            for (int i = 0; i < VEHICLES_PER_GATE; i++) {
+                int sequence = threadParams.getThreadIndex() * VEHICLES_PER_GATE + i;
+                vehicles[i] = lot.vehicleMix.create("GATE" + sequence, sequence);
+                try {
+                    ticketIds[i] = lot.service.parkVehicle(vehicles[i]).getTicketId();
+                } catch (ParkingException e) {
+                    throw new IllegalStateException("Gate vehicle " + vehicles[i].getLicensePlate() + " does not fit", e);
+                }
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void resetCounters() {
+            failedRounds = 0;
+        }
+    }
+
+    @Benchmark
+    public Object parkAndUnpark(Lot lot, Gate gate) {
+        int i = gate.next;
+        gate.next = (i + 1) % VEHICLES_PER_GATE;
+        try {
+            if (gate.ticketIds[i] != null) {
+                lot.service.unparkVehicle(gate.ticketIds[i]);
+                gate.ticketIds[i] = null;
+            }
+            ParkingTicket ticket = lot.service.parkVehicle(gate.vehicles[i]);
+            gate.ticketIds[i] = ticket.getTicketId();
+            return ticket;
+        } catch (ParkingException e) {
+            // Another gate took the space that was just freed; try again next round
+            gate.failedRounds++;
+            return e;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.parkinglot.benchmarks;
+
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingResult;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingLotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning vehicles away at a saturated lot and rejecting bad ticket scans,
+ * through the throwing methods and through their exception-free
+ * {@code try} counterparts. Cars only fill the medium and large spaces, so
+ * every car arrival is rejected.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RejectBenchmark {
+    private static final String UNKNOWN_TICKET = "T999999999";
+
+    @Param({"100", "10000"})
+    public int lotSize;
+
+    private ParkingLotService service;
+    private Vehicle arrival;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = LotFixture.create(lotSize, 1.0, VehicleMix.CARS).service;
+        arrival = VehicleMix.CARS.create("REJECTED", 0);
+    }
+
+    @Benchmark
+    public Object parkVehicleRejected() {
+        try {
+            return service.parkVehicle(arrival);
+        } catch (ParkingException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ParkingResult<ParkingTicket> tryParkVehicleRejected() {
+        return service.tryParkVehicle(arrival);
+    }
+
+    @Benchmark
+    public Object unparkVehicleInvalidTicket() {
+        try {
+            return service.unparkVehicle(UNKNOWN_TICKET);
+        } catch (ParkingException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ParkingResult<Vehicle> tryUnparkVehicleInvalidTicket() {
+        return service.tryUnparkVehicle(UNKNOWN_TICKET);
+    }
+}
@@ -0,0 +1,38 @@
+package com.parkinglot.benchmarks;
+
+import com.parkinglot.models.Car;
+import com.parkinglot.models.Motorcycle;
+import com.parkinglot.models.Truck;
+import com.parkinglot.models.Vehicle;
+
+/**
+ * Vehicle populations used to fill the lot and drive the gates.
+ */
+public enum VehicleMix {
+    // Every arrival is a car
+    CARS,
+    // 70% cars, 25% motorcycles, 5% trucks
+    MIXED;
+
+    public Vehicle create(String licensePlate, int sequence) {
+        if (this == CARS) {
+            return new Car(licensePlate);
+        }
+        int bucket = Math.floorMod(sequence * 37, 100);
+        if (bucket < 70) {
+            return new Car(licensePlate);
+        }
+        if (bucket < 95) {
+            return new Motorcycle(licensePlate);
+        }
+        return new Truck(licensePlate);
+    }
+
+    // Spaces that at least one kind of vehicle in the mix can park in
+    public int usableSpaces(int small, int medium, int large) {
+        if (this == CARS) {
+            return medium + large;
+        }
+        return small + medium + large;
+    }
+}
@@ -0,0 +1,166 @@
+package com.parkinglot.server;
+
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.exceptions.InvalidTicketException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingResult;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.IParkingLotService;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Translates gate requests into {@link IParkingLotService} calls. Failures
+ * are answered with the matching {@link ParkingStatus} name and an HTTP
+ * status instead of being thrown.
+ */
+final class GateHandler {
+    private static final int OK = 200;
+    private static final int CREATED = 201;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int CONFLICT = 409;
+
+    private final IParkingLotService parkingLot;
+
+    GateHandler(IParkingLotService parkingLot) {
+        this.parkingLot = parkingLot;
+    }
+
+    void park(HttpExchange exchange) throws IOException {
+        if (!requireMethod(exchange, "POST")) {
+            return;
+        }
+        Map<String, String> query = parseQuery(exchange);
+        Vehicle vehicle;
+        try {
+            vehicle = Vehicle.of(VehicleType.valueOf(query.getOrDefault("type", "")), query.get("plate"));
+        } catch (IllegalArgumentException e) {
+            sendFailure(exchange, BAD_REQUEST, ParkingStatus.INVALID_VEHICLE, "Expected type and plate parameters");
+            return;
+        }
+        // Rejections are routine at a full lot, so they come back as results rather than exceptions
+        ParkingResult<ParkingTicket> result = parkingLot.tryParkVehicle(vehicle);
+        if (!result.isSuccess()) {
+            sendFailure(exchange, CONFLICT, result.getStatus(), result.getMessage());
+            return;
+        }
+        ParkingTicket ticket = result.getValue();
+        send(exchange, CREATED, "{\"status\":\"" + ParkingStatus.SUCCESS
+                + "\",\"ticketId\":\"" + ticket.getTicketId()
+                + "\",\"spaceId\":" + quote(ticket.getSpaceId())
+                + ",\"entryTime\":\"" + ticket.getEntryTime() + "\"}");
+    }
+
+    void unpark(HttpExchange exchange) throws IOException {
+        if (!requireMethod(exchange, "POST")) {
+            return;
+        }
+        String ticketId = parseQuery(exchange).get("ticket");
+        ParkingResult<Vehicle> result = parkingLot.tryUnparkVehicle(ticketId);
+        if (!result.isSuccess()) {
+            sendFailure(exchange, NOT_FOUND, result.getStatus(), result.getMessage());
+            return;
+        }
+        Vehicle vehicle = result.getValue();
+        send(exchange, OK, "{\"status\":\"" + ParkingStatus.SUCCESS
+                + "\",\"plate\":" + quote(vehicle.getLicensePlate())
+                + ",\"type\":\"" + vehicle.getType() + "\"}");
+    }
+
+    void fee(HttpExchange exchange) throws IOException {
+        if (!requireMethod(exchange, "GET")) {
+            return;
+        }
+        String ticketId = parseQuery(exchange).get("ticket");
+        try {
+            BigDecimal fee = parkingLot.calculateParkingFee(ticketId);
+            send(exchange, OK, "{\"status\":\"" + ParkingStatus.SUCCESS + "\",\"fee\":\"" + fee.toPlainString() + "\"}");
+        } catch (InvalidTicketException e) {
+            sendFailure(exchange, NOT_FOUND, ParkingStatus.INVALID_TICKET, e.getMessage());
+        } catch (ParkingException e) {
+            sendFailure(exchange, CONFLICT, ParkingStatus.INVALID_TICKET, e.getMessage());
+        }
+    }
+
+    void availability(HttpExchange exchange) throws IOException {
+        if (!requireMethod(exchange, "GET")) {
+            return;
+        }
+        StringBuilder body = new StringBuilder("{\"status\":\"").append(ParkingStatus.SUCCESS).append('"');
+        for (SpaceSize size : SpaceSize.values()) {
+            body.append(",\"").append(size).append("\":").append(parkingLot.getAvailableSpaces(size));
+        }
+        body.append(",\"full\":").append(parkingLot.isFull()).append('}');
+        send(exchange, OK, body.toString());
+    }
+
+    private static boolean requireMethod(HttpExchange exchange, String method) throws IOException {
+        if (method.equals(exchange.getRequestMethod())) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", method);
+        send(exchange, METHOD_NOT_ALLOWED, "{\"status\":\"METHOD_NOT_ALLOWED\"}");
+        return false;
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static void sendFailure(HttpExchange exchange, int httpStatus, ParkingStatus status, String message)
+            throws IOException {
+        send(exchange, httpStatus, "{\"status\":\"" + status + "\",\"message\":" + quote(message) + "}");
+    }
+
+    private static void send(HttpExchange exchange, int httpStatus, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(httpStatus, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Plates, space IDs and messages may contain characters that need escaping in JSON
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.parkinglot.server;
+
+import com.parkinglot.services.IParkingLotService;
+import com.parkinglot.services.ParkingLotService;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP front end for gate and kiosk hardware, built on the JDK's
+ * {@link HttpServer}. Every request runs on its own virtual thread, so a
+ * gate waiting on the network or on the lot ties up no carrier thread and
+ * tens of thousands of open connections only cost their sockets and stacks.
+ *
+ * <p>Endpoints, all answering with a small JSON object:
+ * <ul>
+ *   <li>{@code POST /park?type=CAR&plate=ABC123} issues a ticket</li>
+ *   <li>{@code POST /unpark?ticket=T001001} redeems a ticket</li>
+ *   <li>{@code GET /fee?ticket=T001001} quotes the fee owed so far</li>
+ *   <li>{@code GET /availability} reports free spaces per size</li>
+ * </ul>
+ */
+public final class GateServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 8080;
+    // Pending connections the OS queues before accept, sized for a burst of gates reconnecting at once
+    private static final int ACCEPT_BACKLOG = 16384;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public GateServer(IParkingLotService parkingLot, int port) throws IOException {
+        if (parkingLot == null) {
+            throw new IllegalArgumentException("Parking lot cannot be null");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), ACCEPT_BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        GateHandler handler = new GateHandler(parkingLot);
+        server.createContext("/park", handler::park);
+        server.createContext("/unpark", handler::unpark);
+        server.createContext("/fee", handler::fee);
+        server.createContext("/availability", handler::availability);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // The bound port, useful when the server was created on port 0
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    /**
+     * Starts a server in front of a new lot.
+     * Usage: {@code java -jar gate-server.jar [port] [small] [medium] [large]}
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int small = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int medium = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int large = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        GateServer gateServer = new GateServer(new ParkingLotService(small, medium, large), port);
+        gateServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(gateServer::close));
+        System.out.println("Gate server listening on port " + gateServer.getPort());
+    }
+}
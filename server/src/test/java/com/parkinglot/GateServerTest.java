@@ -0,0 +1,114 @@
+package com.parkinglot;
+
+import com.parkinglot.server.GateServer;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GateServerTest {
+    private static final Pattern TICKET_ID = Pattern.compile("\"ticketId\":\"(T\\d+)\"");
+
+    private ParkingLotService parkingLot;
+    private GateServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        parkingLot = new ParkingLotService(1, 200, 1);
+        server = new GateServer(parkingLot, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void parkThenUnpark_ShouldIssueAndRedeemTicket() throws Exception {
+        // Arrange
+        HttpResponse<String> parked = post("/park?type=CAR&plate=CAR001");
+        Matcher ticket = TICKET_ID.matcher(parked.body());
+        assertTrue(ticket.find());
+
+        // Act
+        HttpResponse<String> fee = get("/fee?ticket=" + ticket.group(1));
+        HttpResponse<String> unparked = post("/unpark?ticket=" + ticket.group(1));
+
+        // Assert
+        assertEquals(201, parked.statusCode());
+        assertTrue(parked.body().contains("\"spaceId\":\"M001\""));
+        assertEquals(200, fee.statusCode());
+        assertTrue(fee.body().contains("\"fee\":\"0.00\""));
+        assertEquals(200, unparked.statusCode());
+        assertTrue(unparked.body().contains("\"plate\":\"CAR001\""));
+        assertEquals(0, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void requests_WithBadInput_ShouldReportParkingStatus() throws Exception {
+        // Act
+        HttpResponse<String> badVehicle = post("/park?type=BUS&plate=BUS001");
+        HttpResponse<String> badTicket = post("/unpark?ticket=T999999");
+        HttpResponse<String> wrongMethod = get("/park?type=CAR&plate=CAR001");
+        post("/park?type=TRUCK&plate=TRUCK001");
+        HttpResponse<String> full = post("/park?type=TRUCK&plate=TRUCK002");
+
+        // Assert
+        assertEquals(400, badVehicle.statusCode());
+        assertTrue(badVehicle.body().contains("INVALID_VEHICLE"));
+        assertEquals(404, badTicket.statusCode());
+        assertTrue(badTicket.body().contains("INVALID_TICKET"));
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals(409, full.statusCode());
+        assertTrue(full.body().contains("NO_AVAILABLE_SPACE"));
+    }
+
+    @Test
+    public void concurrentGates_ShouldEachGetOwnSpace() throws Exception {
+        // Arrange
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 150; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/park?type=CAR&plate=CAR" + i))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(201, response.get().statusCode());
+        }
+        HttpResponse<String> availability = get("/availability");
+
+        // Assert
+        assertEquals(150, parkingLot.getOccupiedSpaces());
+        assertTrue(availability.body().contains("\"MEDIUM\":50"));
+        assertTrue(availability.body().contains("\"full\":false"));
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
@@ -0,0 +1,108 @@
+package com.parkinglot.simulation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Arrival rate and typical stay over a day, at minute resolution. Arrivals
+ * are a Poisson process whose rate follows the profile; stays are lognormal
+ * around the mean for the minute of arrival, so commuters arriving in the
+ * morning rush stay most of the day while lunch arrivals leave within the
+ * hour.
+ */
+public final class ArrivalProfile {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Share of the peak hourly rate for each hour of a weekday: morning rush, lunch churn, evening
+    private static final double[] WEEKDAY_RATE_SHAPE = {
+            0.02, 0.01, 0.01, 0.01, 0.02, 0.05, 0.30, 1.00, 0.90, 0.40, 0.30, 0.45,
+            0.70, 0.60, 0.35, 0.30, 0.40, 0.55, 0.35, 0.25, 0.20, 0.15, 0.08, 0.04};
+    // Mean stay in minutes for vehicles arriving in each hour of a weekday
+    private static final double[] WEEKDAY_MEAN_STAY = {
+            240, 240, 240, 240, 360, 480, 510, 510, 480, 240, 120, 50,
+            45, 50, 90, 120, 120, 150, 180, 180, 150, 120, 240, 240};
+    // Spread of the lognormal stay distribution
+    private static final double STAY_SIGMA = 0.5;
+
+    private final double[] arrivalsPerHour;
+    private final double[] meanStayMinutes;
+
+    private ArrivalProfile(double[] arrivalsPerHour, double[] meanStayMinutes) {
+        this.arrivalsPerHour = arrivalsPerHour;
+        this.meanStayMinutes = meanStayMinutes;
+    }
+
+    /**
+     * A weekday shaped like a commuter garage, scaled so the busiest hour
+     * sees {@code peakArrivalsPerHour} arrivals on average.
+     */
+    public static ArrivalProfile weekday(double peakArrivalsPerHour) {
+        if (peakArrivalsPerHour <= 0) {
+            throw new IllegalArgumentException("Peak arrival rate must be positive");
+        }
+        double[] rates = new double[MINUTES_PER_DAY];
+        double[] stays = new double[MINUTES_PER_DAY];
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            rates[minute] = WEEKDAY_RATE_SHAPE[minute / 60] * peakArrivalsPerHour;
+            stays[minute] = WEEKDAY_MEAN_STAY[minute / 60];
+        }
+        return new ArrivalProfile(rates, stays);
+    }
+
+    /**
+     * Returns a copy with an event surge added, e.g. a concert whose crowd
+     * arrives over an hour and stays for the show.
+     *
+     * @param startMinute minute of the day the surge starts
+     * @param durationMinutes how long arrivals keep coming
+     * @param extraArrivalsPerHour arrivals on top of the normal rate
+     * @param meanStayMinutes mean stay of the surge's vehicles
+     */
+    public ArrivalProfile withSurge(int startMinute, int durationMinutes, double extraArrivalsPerHour,
+                                    double meanStayMinutes) {
+        if (startMinute < 0 || startMinute >= MINUTES_PER_DAY || durationMinutes <= 0) {
+            throw new IllegalArgumentException("Surge must start within the day and last at least a minute");
+        }
+        if (extraArrivalsPerHour <= 0 || meanStayMinutes <= 0) {
+            throw new IllegalArgumentException("Surge rate and stay must be positive");
+        }
+        double[] rates = Arrays.copyOf(arrivalsPerHour, MINUTES_PER_DAY);
+        double[] stays = Arrays.copyOf(this.meanStayMinutes, MINUTES_PER_DAY);
+        int end = Math.min(MINUTES_PER_DAY, startMinute + durationMinutes);
+        for (int minute = startMinute; minute < end; minute++) {
+            // Blend the stays so the mean over all arrivals in the minute stays right
+            stays[minute] = (rates[minute] * stays[minute] + extraArrivalsPerHour * meanStayMinutes)
+                    / (rates[minute] + extraArrivalsPerHour);
+            rates[minute] += extraArrivalsPerHour;
+        }
+        return new ArrivalProfile(rates, stays);
+    }
+
+    public double getArrivalsPerHour(int minuteOfDay) {
+        return arrivalsPerHour[minuteOfDay];
+    }
+
+    public double getMeanStayMinutes(int minuteOfDay) {
+        return meanStayMinutes[minuteOfDay];
+    }
+
+    double getPeakArrivalsPerHour() {
+        double peak = 0;
+        for (double rate : arrivalsPerHour) {
+            peak = Math.max(peak, rate);
+        }
+        return peak;
+    }
+
+    long sampleStaySeconds(int minuteOfDay, SplittableRandom random) {
+        // Lognormal with the requested mean: mu = ln(mean) - sigma^2 / 2
+        double mu = Math.log(meanStayMinutes[minuteOfDay] * 60) - STAY_SIGMA * STAY_SIGMA / 2;
+        return Math.max(1, Math.round(Math.exp(mu + STAY_SIGMA * nextGaussian(random))));
+    }
+
+    // SplittableRandom has no nextGaussian before Java 17
+    private static double nextGaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
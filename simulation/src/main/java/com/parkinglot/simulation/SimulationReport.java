@@ -0,0 +1,90 @@
+package com.parkinglot.simulation;
+
+import com.parkinglot.enums.ParkingOperation;
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.metrics.ParkingMetrics;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Outcome of one {@link TrafficSimulator} run: how much traffic the lot
+ * handled, how many arrivals it turned away, how full it got and, through
+ * {@link #getMetrics()}, the latency of every operation.
+ */
+public final class SimulationReport {
+    private final int gates;
+    private final int visits;
+    private final Duration simulatedTime;
+    private final Duration wallTime;
+    private final int peakOccupiedSpaces;
+    private final int totalCapacity;
+    private final ParkingMetrics metrics;
+
+    SimulationReport(int gates, int visits, Duration simulatedTime, Duration wallTime, int peakOccupiedSpaces,
+                     int totalCapacity, ParkingMetrics metrics) {
+        this.gates = gates;
+        this.visits = visits;
+        this.simulatedTime = simulatedTime;
+        this.wallTime = wallTime;
+        this.peakOccupiedSpaces = peakOccupiedSpaces;
+        this.totalCapacity = totalCapacity;
+        this.metrics = metrics;
+    }
+
+    public int getVisits() {
+        return visits;
+    }
+
+    public long getParkedCount() {
+        return metrics.getCount(ParkingOperation.PARK, ParkingStatus.SUCCESS);
+    }
+
+    public long getRejectedCount() {
+        return metrics.getCount(ParkingOperation.PARK, ParkingStatus.NO_AVAILABLE_SPACE);
+    }
+
+    // Share of arrivals turned away because no compatible space was free, 0 to 1
+    public double getRejectionRate() {
+        return visits == 0 ? 0.0 : (double) getRejectedCount() / visits;
+    }
+
+    // Service calls of every kind completed per wall-clock second
+    public double getThroughput() {
+        long operations = 0;
+        for (ParkingOperation operation : ParkingOperation.values()) {
+            operations += metrics.getLatency(operation).getCount();
+        }
+        long nanos = Math.max(1, wallTime.toNanos());
+        return operations * 1_000_000_000.0 / nanos;
+    }
+
+    public int getPeakOccupiedSpaces() {
+        return peakOccupiedSpaces;
+    }
+
+    public Duration getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    public Duration getWallTime() {
+        return wallTime;
+    }
+
+    public ParkingMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "Simulated %s with %d gates in %.3f s wall time%n"
+                        + "Visits: %d, parked: %d, rejected: %d (%.2f%%)%n"
+                        + "Peak occupancy: %d of %d spaces%n"
+                        + "Throughput: %.0f operations/s%n",
+                simulatedTime, gates, wallTime.toNanos() / 1e9,
+                visits, getParkedCount(), getRejectedCount(), getRejectionRate() * 100,
+                peakOccupiedSpaces, totalCapacity,
+                getThroughput()) + metrics.dump();
+    }
+}
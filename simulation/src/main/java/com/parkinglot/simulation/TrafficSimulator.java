@@ -0,0 +1,221 @@
+package com.parkinglot.simulation;
+
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.metrics.InstrumentedParkingLotService;
+import com.parkinglot.metrics.ParkingMetrics;
+import com.parkinglot.models.ParkingResult;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.IParkingLotService;
+import com.parkinglot.services.ParkingLotService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Replays a {@link TrafficTrace} against any {@link IParkingLotService}
+ * across a number of gate threads, on a simulated clock that runs as fast as
+ * the lot allows.
+ *
+ * <p>Simulated time advances in ticks. Within a tick every gate handles its
+ * own arrivals and due departures in time order; all gates then meet at a
+ * barrier before the clock moves on, so occupancy across gates follows the
+ * trace. Visits are dealt to gates round robin, and each vehicle leaves
+ * through the gate it entered, quoting its fee first as at a pay station.
+ * A visit whose arrival is turned away simply never departs.
+ *
+ * <p>Only the schedule runs on simulated time; the lot still stamps tickets
+ * with its own clock, so fees quoted during a run do not reflect simulated
+ * stays.
+ */
+public final class TrafficSimulator {
+    public static final Duration DEFAULT_TICK = Duration.ofMinutes(1);
+
+    private final IParkingLotService lot;
+    private final int gates;
+    private final long tickSeconds;
+
+    public TrafficSimulator(IParkingLotService lot, int gates) {
+        this(lot, gates, DEFAULT_TICK);
+    }
+
+    public TrafficSimulator(IParkingLotService lot, int gates, Duration tick) {
+        if (lot == null) {
+            throw new IllegalArgumentException("Lot cannot be null");
+        }
+        if (gates <= 0) {
+            throw new IllegalArgumentException("Number of gates must be positive");
+        }
+        if (tick == null || tick.getSeconds() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least one second");
+        }
+        this.lot = lot;
+        this.gates = gates;
+        this.tickSeconds = tick.getSeconds();
+    }
+
+    public SimulationReport run(TrafficTrace trace) {
+        if (trace == null) {
+            throw new IllegalArgumentException("Trace cannot be null");
+        }
+        ParkingMetrics metrics = new ParkingMetrics();
+        IParkingLotService instrumented = new InstrumentedParkingLotService(lot, metrics);
+        long ticks = trace.getEndSecond() / tickSeconds + 1;
+
+        List<List<Visit>> visitsByGate = new ArrayList<>(gates);
+        for (int i = 0; i < gates; i++) {
+            visitsByGate.add(new ArrayList<>());
+        }
+        List<Visit> visits = trace.getVisits();
+        for (int i = 0; i < visits.size(); i++) {
+            visitsByGate.get(i % gates).add(visits.get(i));
+        }
+
+        // The barrier action runs alone between ticks, so it can sample the lot without racing the gates
+        int[] peakOccupied = {lot.getOccupiedSpaces()};
+        CyclicBarrier endOfTick = new CyclicBarrier(gates,
+                () -> peakOccupied[0] = Math.max(peakOccupied[0], lot.getOccupiedSpaces()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>(gates);
+        for (int i = 0; i < gates; i++) {
+            Gate gate = new Gate(instrumented, visitsByGate.get(i), ticks, endOfTick, failure);
+            threads.add(new Thread(gate, "gate-" + i));
+        }
+
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                threads.forEach(Thread::interrupt);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the gates", e);
+            }
+        }
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+        if (failure.get() != null) {
+            throw new IllegalStateException("Gate failed during simulation", failure.get());
+        }
+        return new SimulationReport(gates, visits.size(), Duration.ofSeconds(ticks * tickSeconds), wallTime,
+                peakOccupied[0], lot.getTotalCapacity(), metrics);
+    }
+
+    private final class Gate implements Runnable {
+        private final IParkingLotService lot;
+        private final List<Visit> arrivals;
+        private final long ticks;
+        private final CyclicBarrier endOfTick;
+        private final AtomicReference<Throwable> failure;
+        private final PriorityQueue<Departure> departures =
+                new PriorityQueue<>(Comparator.comparingLong((Departure departure) -> departure.second));
+        private int nextArrival;
+
+        Gate(IParkingLotService lot, List<Visit> arrivals, long ticks, CyclicBarrier endOfTick,
+             AtomicReference<Throwable> failure) {
+            this.lot = lot;
+            this.arrivals = arrivals;
+            this.ticks = ticks;
+            this.endOfTick = endOfTick;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (long tick = 0; tick < ticks; tick++) {
+                    // After a failure every gate stops working but keeps meeting the others at the barrier
+                    if (failure.get() == null) {
+                        try {
+                            runUntil((tick + 1) * tickSeconds);
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                    endOfTick.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } catch (BrokenBarrierException e) {
+                // Another gate was interrupted and broke the barrier; its failure is the one reported
+            }
+        }
+
+        // Handles arrivals and departures before the given simulated second, earliest first
+        private void runUntil(long tickEnd) {
+            while (true) {
+                Visit arrival = nextArrival < arrivals.size() ? arrivals.get(nextArrival) : null;
+                long arrivalSecond = arrival != null ? arrival.getArrivalSecond() : Long.MAX_VALUE;
+                Departure departure = departures.peek();
+                long departureSecond = departure != null ? departure.second : Long.MAX_VALUE;
+                if (Math.min(arrivalSecond, departureSecond) >= tickEnd) {
+                    return;
+                }
+                // Departures first on ties, so a leaving vehicle frees its space for the next arrival
+                if (departureSecond <= arrivalSecond) {
+                    departures.poll();
+                    depart(departure.ticketId);
+                } else {
+                    nextArrival++;
+                    arrive(arrival);
+                }
+            }
+        }
+
+        private void arrive(Visit visit) {
+            ParkingResult<ParkingTicket> result =
+                    lot.tryParkVehicle(Vehicle.of(visit.getVehicleType(), visit.getLicensePlate()));
+            // A vehicle turned away is counted by the metrics and never departs
+            if (result.isSuccess()) {
+                departures.add(new Departure(visit.getDepartureSecond(), result.getValue().getTicketId()));
+            }
+        }
+
+        private void depart(String ticketId) {
+            try {
+                lot.calculateParkingFee(ticketId);
+                lot.unparkVehicle(ticketId);
+            } catch (ParkingException e) {
+                throw new IllegalStateException("Ticket " + ticketId + " was not accepted at its gate", e);
+            }
+        }
+    }
+
+    private static final class Departure {
+        final long second;
+        final String ticketId;
+
+        Departure(long second, String ticketId) {
+            this.second = second;
+            this.ticketId = ticketId;
+        }
+    }
+
+    /**
+     * Simulates days of weekday traffic against a new lot and prints the report.
+     * Usage: {@code java -jar traffic-simulator.jar [gates] [small] [medium] [large] [peakPerHour] [days] [trace.csv]}.
+     * When a trace file is given it is replayed instead of generating traffic.
+     */
+    public static void main(String[] args) throws IOException {
+        int gateCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int small = args.length > 1 ? Integer.parseInt(args[1]) : 250;
+        int medium = args.length > 2 ? Integer.parseInt(args[2]) : 700;
+        int large = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+        double peakPerHour = args.length > 4 ? Double.parseDouble(args[4]) : 600;
+        int days = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+        TrafficTrace trace = args.length > 6
+                ? TrafficTrace.read(Path.of(args[6]))
+                : TrafficTrace.generate(ArrivalProfile.weekday(peakPerHour), VehicleMix.standard(), days, 42);
+        TrafficSimulator simulator = new TrafficSimulator(new ParkingLotService(small, medium, large), gateCount);
+        System.out.print(simulator.run(trace));
+    }
+}
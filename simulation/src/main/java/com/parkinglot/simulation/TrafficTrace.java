@@ -0,0 +1,126 @@
+package com.parkinglot.simulation;
+
+import com.parkinglot.enums.VehicleType;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Visits to replay against a lot, ordered by arrival. A trace is either
+ * generated from an {@link ArrivalProfile} or read from a CSV file with one
+ * {@code arrivalSecond,type,plate,staySeconds} line per visit, e.g. exported
+ * from a real day's gate logs.
+ */
+public final class TrafficTrace {
+    private static final String CSV_HEADER = "arrivalSecond,type,plate,staySeconds";
+
+    private final List<Visit> visits;
+
+    private TrafficTrace(List<Visit> visits) {
+        this.visits = visits;
+    }
+
+    public static TrafficTrace of(List<Visit> visits) {
+        if (visits == null) {
+            throw new IllegalArgumentException("Visits cannot be null");
+        }
+        List<Visit> sorted = new ArrayList<>(visits);
+        sorted.sort(Comparator.comparingLong(Visit::getArrivalSecond));
+        return new TrafficTrace(Collections.unmodifiableList(sorted));
+    }
+
+    /**
+     * Generates {@code days} consecutive days of traffic. Arrivals follow a
+     * non-homogeneous Poisson process with the profile's rate, drawn by
+     * thinning a process at the peak rate; the same seed gives the same trace.
+     */
+    public static TrafficTrace generate(ArrivalProfile profile, VehicleMix mix, int days, long seed) {
+        if (profile == null || mix == null) {
+            throw new IllegalArgumentException("Profile and mix cannot be null");
+        }
+        if (days <= 0) {
+            throw new IllegalArgumentException("Number of days must be positive");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        double peakPerSecond = profile.getPeakArrivalsPerHour() / 3600;
+        double end = days * ArrivalProfile.MINUTES_PER_DAY * 60.0;
+        List<Visit> visits = new ArrayList<>();
+        double time = 0;
+        while (true) {
+            time += -Math.log(1.0 - random.nextDouble()) / peakPerSecond;
+            if (time >= end) {
+                break;
+            }
+            int minuteOfDay = (int) (time / 60) % ArrivalProfile.MINUTES_PER_DAY;
+            if (random.nextDouble() * peakPerSecond >= profile.getArrivalsPerHour(minuteOfDay) / 3600) {
+                continue;
+            }
+            visits.add(new Visit((long) time, mix.sample(random), "SIM" + visits.size(),
+                    profile.sampleStaySeconds(minuteOfDay, random)));
+        }
+        return new TrafficTrace(Collections.unmodifiableList(visits));
+    }
+
+    public static TrafficTrace read(Path file) throws IOException {
+        List<Visit> visits = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.equals(CSV_HEADER)) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                try {
+                    if (fields.length != 4) {
+                        throw new IllegalArgumentException("Expected 4 fields");
+                    }
+                    visits.add(new Visit(Long.parseLong(fields[0].trim()), VehicleType.valueOf(fields[1].trim()),
+                            fields[2].trim(), Long.parseLong(fields[3].trim())));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Malformed visit on line " + lineNumber + " of " + file + ": " + line, e);
+                }
+            }
+        }
+        return of(visits);
+    }
+
+    public void write(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (Visit visit : visits) {
+                writer.write(visit.getArrivalSecond() + "," + visit.getVehicleType() + ","
+                        + visit.getLicensePlate() + "," + visit.getStaySeconds());
+                writer.newLine();
+            }
+        }
+    }
+
+    public List<Visit> getVisits() {
+        return visits;
+    }
+
+    public int size() {
+        return visits.size();
+    }
+
+    // Second at which the last vehicle leaves
+    public long getEndSecond() {
+        long end = 0;
+        for (Visit visit : visits) {
+            end = Math.max(end, visit.getDepartureSecond());
+        }
+        return end;
+    }
+}
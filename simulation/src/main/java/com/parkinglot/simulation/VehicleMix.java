@@ -0,0 +1,61 @@
+package com.parkinglot.simulation;
+
+import com.parkinglot.enums.VehicleType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Share of each {@link VehicleType} among arriving vehicles.
+ */
+public final class VehicleMix {
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private final double[] cumulative = new double[TYPES.length];
+
+    private VehicleMix(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Weights cannot be negative");
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cumulative[i] = running / total;
+        }
+    }
+
+    // Weights are relative, e.g. of(70, 25, 5)
+    public static VehicleMix of(double cars, double motorcycles, double trucks) {
+        double[] weights = new double[TYPES.length];
+        weights[VehicleType.CAR.ordinal()] = cars;
+        weights[VehicleType.MOTORCYCLE.ordinal()] = motorcycles;
+        weights[VehicleType.TRUCK.ordinal()] = trucks;
+        return new VehicleMix(weights);
+    }
+
+    // 70% cars, 25% motorcycles, 5% trucks
+    public static VehicleMix standard() {
+        return of(70, 25, 5);
+    }
+
+    public double getShare(VehicleType type) {
+        int i = type.ordinal();
+        return i == 0 ? cumulative[0] : cumulative[i] - cumulative[i - 1];
+    }
+
+    VehicleType sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < TYPES.length - 1; i++) {
+            if (u < cumulative[i]) {
+                return TYPES[i];
+            }
+        }
+        return TYPES[TYPES.length - 1];
+    }
+}
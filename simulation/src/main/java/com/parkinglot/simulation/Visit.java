@@ -0,0 +1,52 @@
+package com.parkinglot.simulation;
+
+import com.parkinglot.enums.VehicleType;
+
+/**
+ * One vehicle's planned visit: when it arrives, in seconds since the start
+ * of the simulation, and how long it means to stay.
+ */
+public final class Visit {
+    private final long arrivalSecond;
+    private final VehicleType vehicleType;
+    private final String licensePlate;
+    private final long staySeconds;
+
+    public Visit(long arrivalSecond, VehicleType vehicleType, String licensePlate, long staySeconds) {
+        if (arrivalSecond < 0 || staySeconds <= 0) {
+            throw new IllegalArgumentException("Arrival cannot be negative and stay must be positive");
+        }
+        if (vehicleType == null || licensePlate == null || licensePlate.isEmpty()) {
+            throw new IllegalArgumentException("Vehicle type and license plate are required");
+        }
+        this.arrivalSecond = arrivalSecond;
+        this.vehicleType = vehicleType;
+        this.licensePlate = licensePlate;
+        this.staySeconds = staySeconds;
+    }
+
+    public long getArrivalSecond() {
+        return arrivalSecond;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public long getStaySeconds() {
+        return staySeconds;
+    }
+
+    public long getDepartureSecond() {
+        return arrivalSecond + staySeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "Visit[" + licensePlate + " " + vehicleType + " at " + arrivalSecond + "s for " + staySeconds + "s]";
+    }
+}
@@ -0,0 +1,93 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.ParkingOperation;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.services.ParkingLotService;
+import com.parkinglot.simulation.ArrivalProfile;
+import com.parkinglot.simulation.SimulationReport;
+import com.parkinglot.simulation.TrafficSimulator;
+import com.parkinglot.simulation.TrafficTrace;
+import com.parkinglot.simulation.VehicleMix;
+import com.parkinglot.simulation.Visit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrafficSimulatorTest {
+
+    @Test
+    public void generate_WeekdayProfile_ShouldFollowRushHoursAndMix() {
+        // Arrange
+        ArrivalProfile profile = ArrivalProfile.weekday(600);
+
+        // Act
+        TrafficTrace trace = TrafficTrace.generate(profile, VehicleMix.standard(), 1, 7);
+
+        // Assert
+        int morningRush = 0;
+        int night = 0;
+        int cars = 0;
+        int trucks = 0;
+        for (Visit visit : trace.getVisits()) {
+            long hour = visit.getArrivalSecond() / 3600;
+            if (hour == 7) {
+                morningRush++;
+            } else if (hour == 2) {
+                night++;
+            }
+            cars += visit.getVehicleType() == VehicleType.CAR ? 1 : 0;
+            trucks += visit.getVehicleType() == VehicleType.TRUCK ? 1 : 0;
+        }
+        // Rates: 600 per hour at 07:00, 6 per hour at 02:00, about 5,000 over the day
+        assertEquals(600, morningRush, 75);
+        assertTrue(night < 20);
+        assertEquals(0.70, (double) cars / trace.size(), 0.03);
+        assertEquals(0.05, (double) trucks / trace.size(), 0.02);
+        // Same seed, same day
+        assertEquals(trace.size(), TrafficTrace.generate(profile, VehicleMix.standard(), 1, 7).size());
+    }
+
+    @Test
+    public void readAndWrite_ShouldRoundTripTrace(@TempDir Path directory) throws Exception {
+        // Arrange
+        TrafficTrace trace = TrafficTrace.of(List.of(
+                new Visit(60, VehicleType.TRUCK, "TRUCK001", 3600),
+                new Visit(5, VehicleType.CAR, "CAR001", 120)));
+        Path file = directory.resolve("trace.csv");
+
+        // Act
+        trace.write(file);
+        TrafficTrace read = TrafficTrace.read(file);
+
+        // Assert
+        assertEquals(2, read.size());
+        assertEquals("CAR001", read.getVisits().get(0).getLicensePlate());
+        assertEquals(VehicleType.TRUCK, read.getVisits().get(1).getVehicleType());
+        assertEquals(3660, read.getEndSecond());
+    }
+
+    @Test
+    public void run_EventSurgeOnSmallLot_ShouldRejectOverflowAndEmptyTheLot() {
+        // Arrange
+        ParkingLotService lot = new ParkingLotService(20, 60, 5);
+        ArrivalProfile profile = ArrivalProfile.weekday(40).withSurge(18 * 60, 60, 300, 180);
+        TrafficTrace trace = TrafficTrace.generate(profile, VehicleMix.standard(), 1, 11);
+        TrafficSimulator simulator = new TrafficSimulator(lot, 4);
+
+        // Act
+        SimulationReport report = simulator.run(trace);
+
+        // Assert
+        assertTrue(report.getRejectedCount() > 0);
+        assertEquals(trace.size(), report.getParkedCount() + report.getRejectedCount());
+        assertEquals(report.getParkedCount(), report.getMetrics().getLatency(ParkingOperation.UNPARK).getCount());
+        assertEquals(lot.getTotalCapacity(), report.getPeakOccupiedSpaces());
+        assertEquals(0, lot.getOccupiedSpaces());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.toString().contains("Visits: " + trace.size()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.parkinglot.enums;
+
+public enum LevelRoutingPolicy {
+    // Lowest level that has a compatible free space
+    NEAREST,
+    // Level with the most free spaces the vehicle can use
+    LEAST_LOADED
+}
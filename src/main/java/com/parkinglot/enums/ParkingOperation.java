@@ -0,0 +1,8 @@
+package com.parkinglot.enums;
+
+public enum ParkingOperation {
+    PARK,
+    UNPARK,
+    CALCULATE_FEE,
+    FIND_VEHICLE
+}
@@ -0,0 +1,9 @@
+package com.parkinglot.enums;
+
+public enum ParkingStatus {
+    SUCCESS,
+    NO_AVAILABLE_SPACE,
+    ALREADY_PARKED,
+    INVALID_TICKET,
+    INVALID_VEHICLE
+}
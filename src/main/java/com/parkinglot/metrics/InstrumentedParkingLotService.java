@@ -0,0 +1,205 @@
+package com.parkinglot.metrics;
+
+import com.parkinglot.enums.ParkingOperation;
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.exceptions.InvalidTicketException;
+import com.parkinglot.exceptions.NoAvailableSpaceException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingResult;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.IParkingLotService;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorator that times parks, unparks, fee quotes and plate lookups and
+ * records each call's latency and outcome in a {@link ParkingMetrics}.
+ * Parks and unparks go through the delegate's {@code try} forms, so each
+ * call is counted under the {@link ParkingStatus} the lot itself reported,
+ * and failures are then thrown as the lot would have thrown them. Calls that
+ * fail with an exception no status describes are not counted. Batch calls
+ * count every item under its operation, with the batch's time split evenly
+ * across the items. Everything else is passed through untimed.
+ */
+public class InstrumentedParkingLotService implements IParkingLotService {
+    private final IParkingLotService delegate;
+    private final ParkingMetrics metrics;
+
+    public InstrumentedParkingLotService(IParkingLotService delegate) {
+        this(delegate, new ParkingMetrics());
+    }
+
+    // Lets several lots, e.g. the levels of a garage, report into one set of metrics
+    public InstrumentedParkingLotService(IParkingLotService delegate, ParkingMetrics metrics) {
+        if (delegate == null || metrics == null) {
+            throw new IllegalArgumentException("Delegate and metrics cannot be null");
+        }
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    public ParkingMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Parks through tryParkVehicle so the recorded status is the one the lot reported,
+    // then throws what the lot's own parkVehicle would have thrown
+    @Override
+    public ParkingTicket parkVehicle(Vehicle vehicle) throws ParkingException {
+        ParkingResult<ParkingTicket> result = tryParkVehicle(vehicle);
+        switch (result.getStatus()) {
+            case SUCCESS:
+                return result.getValue();
+            case INVALID_VEHICLE:
+                throw new IllegalArgumentException(result.getMessage());
+            case NO_AVAILABLE_SPACE:
+                throw new NoAvailableSpaceException(vehicle.getType().toString());
+            default:
+                throw new ParkingException(result.getMessage());
+        }
+    }
+
+    @Override
+    public Vehicle unparkVehicle(String ticketId) throws ParkingException {
+        ParkingResult<Vehicle> result = tryUnparkVehicle(ticketId);
+        if (!result.isSuccess()) {
+            throw new InvalidTicketException(result.getMessage());
+        }
+        return result.getValue();
+    }
+
+    @Override
+    public ParkingResult<ParkingTicket> tryParkVehicle(Vehicle vehicle) {
+        long start = System.nanoTime();
+        ParkingStatus status = null;
+        try {
+            ParkingResult<ParkingTicket> result = delegate.tryParkVehicle(vehicle);
+            status = result.getStatus();
+            return result;
+        } finally {
+            record(ParkingOperation.PARK, status, start);
+        }
+    }
+
+    @Override
+    public ParkingResult<Vehicle> tryUnparkVehicle(String ticketId) {
+        long start = System.nanoTime();
+        ParkingStatus status = null;
+        try {
+            ParkingResult<Vehicle> result = delegate.tryUnparkVehicle(ticketId);
+            status = result.getStatus();
+            return result;
+        } finally {
+            record(ParkingOperation.UNPARK, status, start);
+        }
+    }
+
+    @Override
+    public List<ParkingResult<ParkingTicket>> parkVehicles(List<Vehicle> vehicles) {
+        long start = System.nanoTime();
+        List<ParkingResult<ParkingTicket>> results = delegate.parkVehicles(vehicles);
+        recordBatch(ParkingOperation.PARK, results, System.nanoTime() - start);
+        return results;
+    }
+
+    @Override
+    public List<ParkingResult<Vehicle>> unparkVehicles(List<String> ticketIds) {
+        long start = System.nanoTime();
+        List<ParkingResult<Vehicle>> results = delegate.unparkVehicles(ticketIds);
+        recordBatch(ParkingOperation.UNPARK, results, System.nanoTime() - start);
+        return results;
+    }
+
+    // A call that failed in a way no ParkingStatus describes is left out rather than miscounted
+    private void record(ParkingOperation operation, ParkingStatus status, long start) {
+        if (status != null) {
+            metrics.record(operation, status, System.nanoTime() - start);
+        }
+    }
+
+    private void recordBatch(ParkingOperation operation, List<? extends ParkingResult<?>> results, long nanos) {
+        if (results.isEmpty()) {
+            return;
+        }
+        long perItem = nanos / results.size();
+        for (ParkingResult<?> result : results) {
+            metrics.record(operation, result.getStatus(), perItem);
+        }
+    }
+
+    @Override
+    public Vehicle findVehicleByLicensePlate(String licensePlate) {
+        long start = System.nanoTime();
+        ParkingStatus status = null;
+        try {
+            // Not finding the plate is a normal answer, not a failure
+            Vehicle vehicle = delegate.findVehicleByLicensePlate(licensePlate);
+            status = ParkingStatus.SUCCESS;
+            return vehicle;
+        } finally {
+            record(ParkingOperation.FIND_VEHICLE, status, start);
+        }
+    }
+
+    @Override
+    public BigDecimal calculateParkingFee(String ticketId) throws ParkingException {
+        long start = System.nanoTime();
+        ParkingStatus status = null;
+        try {
+            BigDecimal fee = delegate.calculateParkingFee(ticketId);
+            status = ParkingStatus.SUCCESS;
+            return fee;
+        } catch (InvalidTicketException e) {
+            status = ParkingStatus.INVALID_TICKET;
+            throw e;
+        } finally {
+            record(ParkingOperation.CALCULATE_FEE, status, start);
+        }
+    }
+
+    @Override
+    public Map<SpaceSize, Integer> getAvailableSpaces() {
+        return delegate.getAvailableSpaces();
+    }
+
+    @Override
+    public int getAvailableSpaces(SpaceSize size) {
+        return delegate.getAvailableSpaces(size);
+    }
+
+    @Override
+    public boolean isFull() {
+        return delegate.isFull();
+    }
+
+    @Override
+    public List<Vehicle> getAllVehiclesOfType(VehicleType type) {
+        return delegate.getAllVehiclesOfType(type);
+    }
+
+    @Override
+    public Collection<Vehicle> getVehiclesOfTypeView(VehicleType type) {
+        return delegate.getVehiclesOfTypeView(type);
+    }
+
+    @Override
+    public int getTotalCapacity() {
+        return delegate.getTotalCapacity();
+    }
+
+    @Override
+    public int getOccupiedSpaces() {
+        return delegate.getOccupiedSpaces();
+    }
+
+    @Override
+    public double getOccupancyRate() {
+        return delegate.getOccupancyRate();
+    }
+}
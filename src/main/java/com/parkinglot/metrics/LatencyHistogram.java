@@ -0,0 +1,80 @@
+package com.parkinglot.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent latency histogram with log-linear buckets in the style of
+ * HdrHistogram: values below 64 ns are counted exactly, larger values land in
+ * one of 32 buckets per power of two, so any reported value is within about
+ * 3% of the recorded one. Values up to 2^40 ns (about 18 minutes) are kept;
+ * larger ones are counted in the top bucket.
+ *
+ * <p>Recording is one atomic increment and never allocates. Counts are
+ * striped by thread so gates recording at the same time rarely touch the
+ * same cache line; {@link #snapshot()} merges the stripes.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final long MAX_TRACKABLE = (1L << 40) - 1;
+    private static final int MAX_STRIPES = 8;
+
+    static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE) + 1;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+
+    public LatencyHistogram() {
+        int stripeCount = Integer.highestOneBit(Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()));
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public void record(long nanos) {
+        int index = indexOf(Math.min(Math.max(nanos, 0), MAX_TRACKABLE));
+        stripes[(int) Thread.currentThread().getId() & stripeMask].incrementAndGet(index);
+    }
+
+    /**
+     * Copies the current counts. Values recorded while the copy is taken may
+     * or may not be included.
+     */
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return new LatencySnapshot(counts);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS bits; the shift selects the power of two
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_HALF_BITS;
+        return (shift << SUB_BUCKET_HALF_BITS) + (int) (value >>> shift);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_HALF_BITS) - 1;
+        return (long) (index - (shift << SUB_BUCKET_HALF_BITS)) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_HALF_BITS) - 1;
+        return ((long) (index - (shift << SUB_BUCKET_HALF_BITS) + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,70 @@
+package com.parkinglot.metrics;
+
+/**
+ * Immutable copy of a {@link LatencyHistogram}'s counts. All values are in
+ * nanoseconds and, like the histogram, accurate to about 3%.
+ */
+public final class LatencySnapshot {
+    private final long[] counts;
+    private final long totalCount;
+
+    LatencySnapshot(long[] counts) {
+        this.counts = counts;
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        this.totalCount = total;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the smallest recorded value that the given percentage of
+     * recordings do not exceed, e.g. 99.9 for the 99.9th percentile.
+     * Returns 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return LatencyHistogram.highestEquivalentValue(i);
+            }
+        }
+        return getMax();
+    }
+
+    public double getMean() {
+        if (totalCount == 0) {
+            return 0.0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                long low = LatencyHistogram.lowestEquivalentValue(i);
+                long high = LatencyHistogram.highestEquivalentValue(i);
+                sum += counts[i] * (low + (high - low) / 2.0);
+            }
+        }
+        return sum / totalCount;
+    }
+
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return LatencyHistogram.highestEquivalentValue(i);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.parkinglot.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of one {@link com.parkinglot.enums.ParkingOperation}'s counts and
+ * latency percentiles, registered by {@link ParkingMetrics#registerMBeans(String)}.
+ * Latencies are in nanoseconds.
+ */
+public interface OperationMetricsMXBean {
+    long getCount();
+    long getFailureCount();
+    // Calls per ParkingStatus name
+    Map<String, Long> getOutcomeCounts();
+
+    double getMeanNanos();
+    long getP50Nanos();
+    long getP90Nanos();
+    long getP99Nanos();
+    long getP999Nanos();
+    long getMaxNanos();
+}
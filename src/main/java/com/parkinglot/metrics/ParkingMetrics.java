@@ -0,0 +1,202 @@
+package com.parkinglot.metrics;
+
+import com.parkinglot.enums.ParkingOperation;
+import com.parkinglot.enums.ParkingStatus;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counters per {@link ParkingOperation}, fed
+ * by {@link InstrumentedParkingLotService}. Percentiles can be read directly,
+ * dumped as text with {@link #dump()} or exported through JMX.
+ *
+ * <p>A successful call costs one striped atomic increment and no allocation.
+ * Failures additionally bump a {@link LongAdder}; successes are derived as the
+ * histogram count minus the failures, so the common path touches nothing else.
+ */
+public final class ParkingMetrics {
+    private static final ParkingOperation[] OPERATIONS = ParkingOperation.values();
+    private static final ParkingStatus[] STATUSES = ParkingStatus.values();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private final LongAdder[][] failures = new LongAdder[OPERATIONS.length][STATUSES.length];
+    private final List<ObjectName> registeredNames = new ArrayList<>();
+
+    public ParkingMetrics() {
+        for (ParkingOperation operation : OPERATIONS) {
+            latencies[operation.ordinal()] = new LatencyHistogram();
+            for (ParkingStatus status : STATUSES) {
+                if (status != ParkingStatus.SUCCESS) {
+                    failures[operation.ordinal()][status.ordinal()] = new LongAdder();
+                }
+            }
+        }
+    }
+
+    public void record(ParkingOperation operation, ParkingStatus status, long nanos) {
+        latencies[operation.ordinal()].record(nanos);
+        if (status != ParkingStatus.SUCCESS) {
+            failures[operation.ordinal()][status.ordinal()].increment();
+        }
+    }
+
+    public LatencySnapshot getLatency(ParkingOperation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null");
+        }
+        return latencies[operation.ordinal()].snapshot();
+    }
+
+    public long getCount(ParkingOperation operation, ParkingStatus status) {
+        if (operation == null || status == null) {
+            throw new IllegalArgumentException("Operation and status cannot be null");
+        }
+        if (status == ParkingStatus.SUCCESS) {
+            return getLatency(operation).getCount() - getFailureCount(operation);
+        }
+        return failures[operation.ordinal()][status.ordinal()].sum();
+    }
+
+    public long getFailureCount(ParkingOperation operation) {
+        long total = 0;
+        for (LongAdder counter : failures[operation.ordinal()]) {
+            if (counter != null) {
+                total += counter.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Formats one line per operation with its latency percentiles, followed
+     * by the calls per outcome, e.g. for a log line or an admin endpoint.
+     */
+    public String dump() {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "%-14s %10s %10s %10s %10s %10s %10s %10s%n",
+                "operation(ns)", "count", "mean", "p50", "p90", "p99", "p99.9", "max"));
+        for (ParkingOperation operation : OPERATIONS) {
+            LatencySnapshot latency = getLatency(operation);
+            text.append(String.format(Locale.ROOT, "%-14s %10d %10.1f %10d %10d %10d %10d %10d%n",
+                    operation, latency.getCount(), latency.getMean(),
+                    latency.getValueAtPercentile(50), latency.getValueAtPercentile(90),
+                    latency.getValueAtPercentile(99), latency.getValueAtPercentile(99.9), latency.getMax()));
+        }
+        for (ParkingOperation operation : OPERATIONS) {
+            text.append(operation).append(':');
+            for (Map.Entry<String, Long> outcome : getOutcomeCounts(operation).entrySet()) {
+                text.append(' ').append(outcome.getKey()).append('=').append(outcome.getValue());
+            }
+            text.append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Registers one MXBean per operation with the platform MBean server under
+     * {@code com.parkinglot:type=ParkingMetrics,name=<name>,operation=<operation>}.
+     */
+    public synchronized void registerMBeans(String name) throws JMException {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be null or empty");
+        }
+        if (!registeredNames.isEmpty()) {
+            throw new IllegalStateException("Metrics are already registered");
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ParkingOperation operation : OPERATIONS) {
+                ObjectName objectName = new ObjectName("com.parkinglot:type=ParkingMetrics,name="
+                        + ObjectName.quote(name) + ",operation=" + operation);
+                server.registerMBean(new OperationMetrics(operation), objectName);
+                registeredNames.add(objectName);
+            }
+        } catch (JMException e) {
+            unregisterMBeans();
+            throw e;
+        }
+    }
+
+    public synchronized void unregisterMBeans() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : registeredNames) {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        }
+        registeredNames.clear();
+    }
+
+    private Map<String, Long> getOutcomeCounts(ParkingOperation operation) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (ParkingStatus status : STATUSES) {
+            long count = getCount(operation, status);
+            if (count != 0) {
+                counts.put(status.name(), count);
+            }
+        }
+        return counts;
+    }
+
+    private final class OperationMetrics implements OperationMetricsMXBean {
+        private final ParkingOperation operation;
+
+        OperationMetrics(ParkingOperation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public long getCount() {
+            return getLatency(operation).getCount();
+        }
+
+        @Override
+        public long getFailureCount() {
+            return ParkingMetrics.this.getFailureCount(operation);
+        }
+
+        @Override
+        public Map<String, Long> getOutcomeCounts() {
+            return ParkingMetrics.this.getOutcomeCounts(operation);
+        }
+
+        @Override
+        public double getMeanNanos() {
+            return getLatency(operation).getMean();
+        }
+
+        @Override
+        public long getP50Nanos() {
+            return getLatency(operation).getValueAtPercentile(50);
+        }
+
+        @Override
+        public long getP90Nanos() {
+            return getLatency(operation).getValueAtPercentile(90);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return getLatency(operation).getValueAtPercentile(99);
+        }
+
+        @Override
+        public long getP999Nanos() {
+            return getLatency(operation).getValueAtPercentile(99.9);
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return getLatency(operation).getMax();
+        }
+    }
+}
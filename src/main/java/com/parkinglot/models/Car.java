@@ -2,17 +2,18 @@ package com.parkinglot.models;
 
 import com.parkinglot.enums.SpaceSize;
 import com.parkinglot.enums.VehicleType;
-import com.parkinglot.exceptions.NotImplementedException;
 import java.util.List;
 
 public class Car extends Vehicle {
+    // Cars can park in Medium or Large spaces
+    private static final List<SpaceSize> COMPATIBLE_SIZES = List.of(SpaceSize.MEDIUM, SpaceSize.LARGE);
+
     public Car(String licensePlate) {
         super(licensePlate, VehicleType.CAR);
     }
 
     @Override
     public List<SpaceSize> getCompatibleSpaceSizes() {
-        // TODO: Cars can park in Medium or Large spaces
-        throw new NotImplementedException();
+        return COMPATIBLE_SIZES;
     }
-}
\ No newline at end of file
+}
@@ -2,17 +2,18 @@ package com.parkinglot.models;
 
 import com.parkinglot.enums.SpaceSize;
 import com.parkinglot.enums.VehicleType;
-import com.parkinglot.exceptions.NotImplementedException;
 import java.util.List;
 
 public class Motorcycle extends Vehicle {
+    // Motorcycles can park in any size space
+    private static final List<SpaceSize> COMPATIBLE_SIZES = List.of(SpaceSize.SMALL, SpaceSize.MEDIUM, SpaceSize.LARGE);
+
     public Motorcycle(String licensePlate) {
         super(licensePlate, VehicleType.MOTORCYCLE);
     }
 
     @Override
     public List<SpaceSize> getCompatibleSpaceSizes() {
-        // TODO: Motorcycles can park in any size space
-        throw new NotImplementedException();
+        return COMPATIBLE_SIZES;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.parkinglot.models;
+
+import com.parkinglot.enums.ParkingStatus;
+
+/**
+ * Outcome of a parking operation that reports failure as a status instead of
+ * throwing, e.g. one entry of a batch park or unpark.
+ */
+public final class ParkingResult<T> {
+    private final ParkingStatus status;
+    private final T value;
+    private final String message;
+
+    private ParkingResult(ParkingStatus status, T value, String message) {
+        this.status = status;
+        this.value = value;
+        this.message = message;
+    }
+
+    public static <T> ParkingResult<T> success(T value) {
+        return new ParkingResult<>(ParkingStatus.SUCCESS, value, null);
+    }
+
+    public static <T> ParkingResult<T> failure(ParkingStatus status, String message) {
+        if (status == null || status == ParkingStatus.SUCCESS) {
+            throw new IllegalArgumentException("Failure status must be a non-success status");
+        }
+        return new ParkingResult<>(status, null, message);
+    }
+
+    public ParkingStatus getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == ParkingStatus.SUCCESS;
+    }
+
+    // The ticket or vehicle on success, null otherwise
+    public T getValue() {
+        return value;
+    }
+
+    // Why the operation failed, null on success
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "ParkingResult[SUCCESS, " + value + "]" : "ParkingResult[" + status + ", " + message + "]";
+    }
+}
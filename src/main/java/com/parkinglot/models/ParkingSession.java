@@ -0,0 +1,83 @@
+package com.parkinglot.models;
+
+import com.parkinglot.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * A completed stay in the lot: the redeemed ticket together with the vehicle
+ * type and the fee that was charged.
+ */
+public final class ParkingSession {
+    private final long ticketNumber;
+    private final String licensePlate;
+    private final VehicleType vehicleType;
+    private final String spaceId;
+    private final LocalDateTime entryTime;
+    private final LocalDateTime exitTime;
+    private final long feeCents;
+
+    public ParkingSession(long ticketNumber, String licensePlate, VehicleType vehicleType, String spaceId,
+                          LocalDateTime entryTime, LocalDateTime exitTime, long feeCents) {
+        if (licensePlate == null || vehicleType == null || spaceId == null) {
+            throw new IllegalArgumentException("License plate, vehicle type and space ID cannot be null");
+        }
+        if (entryTime == null || exitTime == null) {
+            throw new IllegalArgumentException("Entry and exit time cannot be null");
+        }
+        this.ticketNumber = ticketNumber;
+        this.licensePlate = licensePlate;
+        this.vehicleType = vehicleType;
+        this.spaceId = spaceId;
+        this.entryTime = entryTime;
+        this.exitTime = exitTime;
+        this.feeCents = feeCents;
+    }
+
+    public long getTicketNumber() {
+        return ticketNumber;
+    }
+
+    public String getTicketId() {
+        return ParkingTicket.formatTicketId(ticketNumber);
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public String getSpaceId() {
+        return spaceId;
+    }
+
+    public LocalDateTime getEntryTime() {
+        return entryTime;
+    }
+
+    public LocalDateTime getExitTime() {
+        return exitTime;
+    }
+
+    public Duration getParkingDuration() {
+        return Duration.between(entryTime, exitTime);
+    }
+
+    public long getFeeCents() {
+        return feeCents;
+    }
+
+    public BigDecimal getFee() {
+        return ParkingTicket.centsToAmount(feeCents);
+    }
+
+    @Override
+    public String toString() {
+        return getTicketId() + " " + licensePlate + " " + spaceId + " " + entryTime + " - " + exitTime;
+    }
+}
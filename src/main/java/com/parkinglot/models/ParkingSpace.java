@@ -1,7 +1,8 @@
 package com.parkinglot.models;
 
 import com.parkinglot.enums.SpaceSize;
-import com.parkinglot.exceptions.NotImplementedException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.exceptions.SpaceOccupiedException;
 
 public class ParkingSpace {
     private final String id;
@@ -32,22 +33,28 @@ public class ParkingSpace {
         return currentVehicle;
     }
 
-    public void parkVehicle(Vehicle vehicle) {
-        // TODO: Implement parking logic
-        // Should set isOccupied to true and store the vehicle
-        // Should throw exception if space is already occupied
-        throw new NotImplementedException();
+    public void parkVehicle(Vehicle vehicle) throws ParkingException {
+        if (isOccupied) {
+            throw new SpaceOccupiedException("Parking space " + id + " is already occupied");
+        }
+        if (!canFitVehicle(vehicle)) {
+            throw new ParkingException("Vehicle cannot fit in " + size + " parking space " + id);
+        }
+        this.currentVehicle = vehicle;
+        this.isOccupied = true;
     }
 
-    public Vehicle removeVehicle() {
-        // TODO: Implement unparking logic
-        // Should return the vehicle and mark space as available
-        // Should throw exception if space is not occupied
-        throw new NotImplementedException();
+    public Vehicle removeVehicle() throws ParkingException {
+        if (!isOccupied) {
+            throw new ParkingException("Parking space " + id + " is not occupied");
+        }
+        Vehicle vehicle = currentVehicle;
+        this.currentVehicle = null;
+        this.isOccupied = false;
+        return vehicle;
     }
 
     public boolean canFitVehicle(Vehicle vehicle) {
-        // TODO: Check if this space can accommodate the given vehicle
-        throw new NotImplementedException();
+        return vehicle != null && vehicle.getCompatibleSpaceSizes().contains(size);
     }
-}
\ No newline at end of file
+}
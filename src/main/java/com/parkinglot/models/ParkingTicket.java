@@ -1,28 +1,85 @@
 package com.parkinglot.models;
 
-import com.parkinglot.exceptions.NotImplementedException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 public class ParkingTicket {
-    private final String ticketId;
-    private final String licensePlate;
+    private static final long MINUTES_PER_HOUR = 60;
+    private static final int CENTS_SCALE = 2;
+    private static final char TICKET_PREFIX = 'T';
+    private static final int TICKET_NUMBER_WIDTH = 6;
+    // Longest digit run that always fits in a long
+    private static final int MAX_TICKET_NUMBER_DIGITS = 18;
+
+    private final long ticketNumber;
+    // Rendered from ticketNumber on first read; racing renders produce equal strings
+    private String ticketId;
+    private final PlateKey plateKey;
     private final String spaceId;
     private final LocalDateTime entryTime;
     private LocalDateTime exitTime;
 
     public ParkingTicket(String ticketId, String licensePlate, String spaceId, LocalDateTime entryTime) {
-        // TODO: Implement constructor
-        throw new NotImplementedException();
+        this(parseTicketNumber(requireTicketId(ticketId)), ticketId, PlateKey.of(licensePlate), spaceId, entryTime);
+    }
+
+    /**
+     * Creates a ticket identified by its number alone. The "T%06d" ticket ID is
+     * only built if someone reads it.
+     */
+    public ParkingTicket(long ticketNumber, String licensePlate, String spaceId, LocalDateTime entryTime) {
+        this(requireTicketNumber(ticketNumber), null, PlateKey.of(licensePlate), spaceId, entryTime);
+    }
+
+    // Shares the vehicle's plate key instead of packing the plate again
+    public ParkingTicket(long ticketNumber, PlateKey plateKey, String spaceId, LocalDateTime entryTime) {
+        this(requireTicketNumber(ticketNumber), null, plateKey, spaceId, entryTime);
+    }
+
+    private ParkingTicket(long ticketNumber, String ticketId, PlateKey plateKey, String spaceId,
+                          LocalDateTime entryTime) {
+        if (plateKey == null) {
+            throw new IllegalArgumentException("License plate cannot be null or empty");
+        }
+        if (spaceId == null || spaceId.isEmpty()) {
+            throw new IllegalArgumentException("Space ID cannot be null or empty");
+        }
+        if (entryTime == null) {
+            throw new IllegalArgumentException("Entry time cannot be null");
+        }
+        this.ticketNumber = ticketNumber;
+        this.ticketId = ticketId;
+        this.plateKey = plateKey;
+        this.spaceId = spaceId;
+        this.entryTime = entryTime;
     }
 
     public String getTicketId() {
-        return ticketId;
+        String id = ticketId;
+        if (id == null) {
+            id = formatTicketId(ticketNumber);
+            ticketId = id;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the numeric form of the ticket ID, or -1 if the ticket was created
+     * with an ID that is not in the canonical "T%06d" form.
+     */
+    public long getTicketNumber() {
+        return ticketNumber;
     }
 
     public String getLicensePlate() {
-        return licensePlate;
+        return plateKey.toString();
+    }
+
+    public PlateKey getPlateKey() {
+        return plateKey;
     }
 
     public String getSpaceId() {
@@ -38,19 +95,128 @@ public class ParkingTicket {
     }
 
     public void markExit(LocalDateTime exitTime) {
-        // TODO: Set the exit time
-        throw new NotImplementedException();
+        if (exitTime == null) {
+            throw new IllegalArgumentException("Exit time cannot be null");
+        }
+        if (exitTime.isBefore(entryTime)) {
+            throw new IllegalArgumentException("Exit time cannot be before entry time");
+        }
+        this.exitTime = exitTime;
     }
 
     public Duration getParkingDuration() {
-        // TODO: Calculate parking duration
-        // If exitTime is null, use current time
-        throw new NotImplementedException();
+        // Active tickets are measured up to the current time
+        LocalDateTime end = exitTime != null ? exitTime : LocalDateTime.now();
+        return Duration.between(entryTime, end);
     }
 
     public BigDecimal calculateFee(BigDecimal hourlyRate) {
-        // TODO: Calculate parking fee based on duration and hourly rate
-        // Round up to the next hour for partial hours
-        throw new NotImplementedException();
+        if (hourlyRate == null) {
+            throw new IllegalArgumentException("Hourly rate cannot be null");
+        }
+        if (hourlyRate.signum() < 0) {
+            throw new IllegalArgumentException("Hourly rate cannot be negative");
+        }
+        long billableHours = getBillableHours(exitTime != null ? exitTime : LocalDateTime.now());
+        return hourlyRate.multiply(BigDecimal.valueOf(billableHours)).setScale(CENTS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Fixed-point counterpart of {@link #calculateFee(BigDecimal)}: the rate and
+     * the result are whole cents, and the arithmetic allocates nothing.
+     */
+    public long calculateFeeCents(long hourlyRateCents) {
+        return calculateFeeCents(hourlyRateCents, exitTime != null ? exitTime : LocalDateTime.now());
+    }
+
+    /**
+     * Quotes the fee in cents as if the vehicle left at the given time. Lets
+     * callers that already hold the current time avoid reading the clock again.
+     */
+    public long calculateFeeCents(long hourlyRateCents, LocalDateTime end) {
+        if (hourlyRateCents < 0) {
+            throw new IllegalArgumentException("Hourly rate cannot be negative");
+        }
+        return Math.multiplyExact(hourlyRateCents, getBillableHours(end));
+    }
+
+    // Partial hours are billed as a full hour
+    private long getBillableHours(LocalDateTime end) {
+        long minutes = Math.max(0, entryTime.until(end, ChronoUnit.MINUTES));
+        return (minutes + MINUTES_PER_HOUR - 1) / MINUTES_PER_HOUR;
+    }
+
+    /**
+     * Converts an amount in cents to a two-decimal {@link BigDecimal}, e.g. 650 to 6.50.
+     */
+    public static BigDecimal centsToAmount(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+
+    private static String requireTicketId(String ticketId) {
+        if (ticketId == null || ticketId.isEmpty()) {
+            throw new IllegalArgumentException("Ticket ID cannot be null or empty");
+        }
+        return ticketId;
+    }
+
+    private static long requireTicketNumber(long ticketNumber) {
+        if (ticketNumber < 0) {
+            throw new IllegalArgumentException("Ticket number cannot be negative");
+        }
+        return ticketNumber;
+    }
+
+    /**
+     * Renders a ticket number as "T" followed by at least six zero-padded digits,
+     * the same output as {@code String.format("T%06d", ticketNumber)}.
+     */
+    public static String formatTicketId(long ticketNumber) {
+        if (ticketNumber < 0) {
+            throw new IllegalArgumentException("Ticket number cannot be negative");
+        }
+        int digits = 1;
+        for (long v = ticketNumber; v >= 10; v /= 10) {
+            digits++;
+        }
+        int width = Math.max(digits, TICKET_NUMBER_WIDTH);
+        char[] chars = new char[width + 1];
+        chars[0] = TICKET_PREFIX;
+        long v = ticketNumber;
+        for (int i = width; i >= 1; i--) {
+            chars[i] = (char) ('0' + (v % 10));
+            v /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Parses a ticket ID produced by {@link #formatTicketId(long)} back into its
+     * number without allocating.
+     *
+     * @return the ticket number, or -1 if the ID is not in canonical form
+     */
+    public static long parseTicketNumber(String ticketId) {
+        if (ticketId == null) {
+            return -1;
+        }
+        int digits = ticketId.length() - 1;
+        if (digits < TICKET_NUMBER_WIDTH || digits > MAX_TICKET_NUMBER_DIGITS
+                || ticketId.charAt(0) != TICKET_PREFIX) {
+            return -1;
+        }
+        // Only the padded form is canonical, so "T0001001" is not the same ticket as "T001001"
+        if (digits > TICKET_NUMBER_WIDTH && ticketId.charAt(1) == '0') {
+            return -1;
+        }
+        long number = 0;
+        for (int i = 1; i <= digits; i++) {
+            char c = ticketId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
     }
-}
\ No newline at end of file
+}
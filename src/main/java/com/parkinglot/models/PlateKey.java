@@ -0,0 +1,143 @@
+package com.parkinglot.models;
+
+/**
+ * A license plate packed into two {@code long}s, six bits per character, for
+ * plates of up to 20 letters, digits and dashes. Hashing and equality compare
+ * the two longs and never touch a string, and the text is only rebuilt when
+ * {@link #toString()} is called, e.g. for display. Plates that do not fit are
+ * kept as their original string and compared as such.
+ *
+ * <p>A vehicle's key is created once, with the vehicle, and then shared by its
+ * ticket, the lot's plate index and the history store.
+ */
+public final class PlateKey implements CharSequence {
+    private static final int BITS_PER_CHAR = 6;
+    private static final int CHARS_PER_LONG = 10;
+    private static final int MAX_PACKED_LENGTH = 2 * CHARS_PER_LONG;
+    private static final int CHAR_MASK = (1 << BITS_PER_CHAR) - 1;
+    // Code 0 marks an unused position, so codes start at 1
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz-";
+
+    // First ten characters, first character in the highest bits
+    private final long high;
+    // Characters eleven to twenty
+    private final long low;
+    // The plate itself when it cannot be packed, null otherwise
+    private final String unpacked;
+
+    private PlateKey(long high, long low, String unpacked) {
+        this.high = high;
+        this.low = low;
+        this.unpacked = unpacked;
+    }
+
+    public static PlateKey of(String licensePlate) {
+        if (licensePlate == null || licensePlate.isEmpty()) {
+            throw new IllegalArgumentException("License plate cannot be null or empty");
+        }
+        int length = licensePlate.length();
+        if (length > MAX_PACKED_LENGTH) {
+            return new PlateKey(0, 0, licensePlate);
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < length; i++) {
+            int code = codeOf(licensePlate.charAt(i));
+            if (code == 0) {
+                return new PlateKey(0, 0, licensePlate);
+            }
+            if (i < CHARS_PER_LONG) {
+                high |= (long) code << shiftOf(i);
+            } else {
+                low |= (long) code << shiftOf(i - CHARS_PER_LONG);
+            }
+        }
+        return new PlateKey(high, low, null);
+    }
+
+    @Override
+    public int length() {
+        if (unpacked != null) {
+            return unpacked.length();
+        }
+        return low != 0 ? CHARS_PER_LONG + packedLength(low) : packedLength(high);
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (unpacked != null) {
+            return unpacked.charAt(index);
+        }
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for plate " + this);
+        }
+        long word = index < CHARS_PER_LONG ? high : low;
+        int code = (int) (word >>> shiftOf(index % CHARS_PER_LONG)) & CHAR_MASK;
+        return ALPHABET.charAt(code - 1);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PlateKey)) {
+            return false;
+        }
+        PlateKey other = (PlateKey) o;
+        if (unpacked != null) {
+            return unpacked.equals(other.unpacked);
+        }
+        return high == other.high && low == other.low && other.unpacked == null;
+    }
+
+    @Override
+    public int hashCode() {
+        if (unpacked != null) {
+            return unpacked.hashCode();
+        }
+        long mixed = (high ^ Long.rotateLeft(low, 29)) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    // Rebuilds the plate's text
+    @Override
+    public String toString() {
+        if (unpacked != null) {
+            return unpacked;
+        }
+        int length = length();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+
+    private static int codeOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return 1 + (c - '0');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 11 + (c - 'A');
+        }
+        if (c >= 'a' && c <= 'z') {
+            return 37 + (c - 'a');
+        }
+        return c == '-' ? 63 : 0;
+    }
+
+    private static int shiftOf(int position) {
+        return BITS_PER_CHAR * (CHARS_PER_LONG - 1 - position);
+    }
+
+    // Characters used in one word; unused positions are the low-order zero codes
+    private static int packedLength(long word) {
+        return word == 0 ? 0 : CHARS_PER_LONG - Long.numberOfTrailingZeros(word) / BITS_PER_CHAR;
+    }
+}
@@ -0,0 +1,44 @@
+package com.parkinglot.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * A space held for one license plate until a deadline. While the hold lasts
+ * no other vehicle is given the space, and the vehicle with the plate is
+ * parked in it on arrival.
+ */
+public final class Reservation {
+    private final PlateKey plateKey;
+    private final String spaceId;
+    private final LocalDateTime expiresAt;
+
+    public Reservation(PlateKey plateKey, String spaceId, LocalDateTime expiresAt) {
+        if (plateKey == null || spaceId == null || expiresAt == null) {
+            throw new IllegalArgumentException("License plate, space ID and expiry time cannot be null");
+        }
+        this.plateKey = plateKey;
+        this.spaceId = spaceId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getLicensePlate() {
+        return plateKey.toString();
+    }
+
+    public PlateKey getPlateKey() {
+        return plateKey;
+    }
+
+    public String getSpaceId() {
+        return spaceId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return plateKey + " " + spaceId + " until " + expiresAt;
+    }
+}
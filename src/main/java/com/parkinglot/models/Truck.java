@@ -2,19 +2,18 @@ package com.parkinglot.models;
 
 import com.parkinglot.enums.SpaceSize;
 import com.parkinglot.enums.VehicleType;
-import com.parkinglot.exceptions.NotImplementedException;
 import java.util.List;
 
 public class Truck extends Vehicle {
-    // TODO: Implement Truck class
     // Trucks can only park in Large spaces
+    private static final List<SpaceSize> COMPATIBLE_SIZES = List.of(SpaceSize.LARGE);
+
     public Truck(String licensePlate) {
         super(licensePlate, VehicleType.TRUCK);
     }
 
     @Override
     public List<SpaceSize> getCompatibleSpaceSizes() {
-        // TODO: Trucks can only park in Large spaces
-        throw new NotImplementedException();
+        return COMPATIBLE_SIZES;
     }
-}
\ No newline at end of file
+}
@@ -2,24 +2,32 @@ package com.parkinglot.models;
 
 import com.parkinglot.enums.SpaceSize;
 import com.parkinglot.enums.VehicleType;
-import com.parkinglot.exceptions.NotImplementedException;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public abstract class Vehicle {
-    private final String licensePlate;
+    // Only the packed form is kept; the plate string is rebuilt when read
+    private final PlateKey plateKey;
     private final VehicleType type;
     private LocalDateTime entryTime;
 
     protected Vehicle(String licensePlate, VehicleType type) {
-        // TODO: Implement constructor validation
-        // Should validate that licensePlate is not null or empty
-        // Should set the licensePlate and type fields
-        throw new NotImplementedException();
+        if (licensePlate == null || licensePlate.trim().isEmpty()) {
+            throw new IllegalArgumentException("License plate cannot be null or empty");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Vehicle type cannot be null");
+        }
+        this.plateKey = PlateKey.of(licensePlate);
+        this.type = type;
     }
 
     public String getLicensePlate() {
-        return licensePlate;
+        return plateKey.toString();
+    }
+
+    public PlateKey getPlateKey() {
+        return plateKey;
     }
 
     public VehicleType getType() {
@@ -34,6 +42,29 @@ public abstract class Vehicle {
         this.entryTime = entryTime;
     }
 
-    // TODO: Add method to determine which parking space sizes this vehicle can use
+    /**
+     * Creates a vehicle of the given type, e.g. when rebuilding lot state from
+     * persisted data that only records the type and plate.
+     */
+    public static Vehicle of(VehicleType type, String licensePlate) {
+        if (type == null) {
+            throw new IllegalArgumentException("Vehicle type cannot be null");
+        }
+        switch (type) {
+            case MOTORCYCLE:
+                return new Motorcycle(licensePlate);
+            case CAR:
+                return new Car(licensePlate);
+            case TRUCK:
+                return new Truck(licensePlate);
+            default:
+                throw new IllegalArgumentException("Unknown vehicle type: " + type);
+        }
+    }
+
+    /**
+     * Returns the space sizes this vehicle can use, ordered from the smallest
+     * suitable size to the largest. Allocation walks this list in order.
+     */
     public abstract List<SpaceSize> getCompatibleSpaceSizes();
-}
\ No newline at end of file
+}
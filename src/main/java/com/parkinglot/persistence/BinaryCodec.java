@@ -0,0 +1,67 @@
+package com.parkinglot.persistence;
+
+import com.parkinglot.models.PlateKey;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Field encodings shared by the journal and snapshot formats.
+ * Timestamps are stored as milliseconds of the local date-time read as if it
+ * were UTC, which round-trips a {@link LocalDateTime} without a time zone.
+ */
+final class BinaryCodec {
+    static final int MAX_STRING_BYTES = 1024;
+
+    private BinaryCodec() {
+    }
+
+    static long toEpochMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    static LocalDateTime fromEpochMillis(long millis) {
+        long seconds = Math.floorDiv(millis, 1000);
+        int nanos = Math.floorMod(millis, 1000) * 1_000_000;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String too long to persist: " + value.length() + " characters");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    // Same encoding as putString, but an all-ASCII plate is written straight from its characters
+    static void putPlate(ByteBuffer buffer, PlateKey plate) {
+        int length = plate.length();
+        for (int i = 0; i < length; i++) {
+            if (plate.charAt(i) >= 0x80) {
+                putString(buffer, plate.toString());
+                return;
+            }
+        }
+        if (length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String too long to persist: " + length + " characters");
+        }
+        buffer.putShort((short) length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) plate.charAt(i));
+        }
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length > MAX_STRING_BYTES || length > buffer.remaining()) {
+            throw new IllegalStateException("Corrupt string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
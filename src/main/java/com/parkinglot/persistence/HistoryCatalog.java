@@ -0,0 +1,173 @@
+package com.parkinglot.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The rolled segments of a {@link ParkingHistory}, one fixed-size entry per
+ * segment in bucket order: the bucket start, the earliest entry time in the
+ * segment, the earliest entry time in it or any later segment, and a Bloom
+ * filter of the license plates it holds.
+ *
+ * <p>The running minimum lets a range query stop at the first segment after
+ * which no session entered in time, so widening the range for long stays
+ * costs only the segments those stays actually reach. The filter lets a
+ * plate query skip almost every segment without opening its file.
+ *
+ * <p>Entries live in a memory-mapped file, so the catalog takes no heap
+ * however long the history grows. The file is derived from the segment files
+ * and rebuilt whenever the history is opened. Not thread-safe;
+ * {@link ParkingHistory} guards access.
+ */
+final class HistoryCatalog implements Closeable {
+    private static final int FILTER_BITS = 8192;
+    private static final int ENTRY_SIZE = 24 + FILTER_BITS / 8;
+    private static final int INITIAL_CAPACITY = 256;
+
+    interface BucketVisitor {
+        void visit(long bucketStart) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private MappedByteBuffer entries;
+    private int size;
+
+    private HistoryCatalog(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.entries = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) INITIAL_CAPACITY * ENTRY_SIZE);
+    }
+
+    // Creates an empty catalog, replacing the file left by an earlier run
+    static HistoryCatalog create(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new HistoryCatalog(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a rolled segment, or merges into its entry if it was rolled
+     * before. Segments roll oldest first, so this is an append unless a late
+     * session reopened an old segment.
+     */
+    void put(long bucketStart, long minEntryMillis, int[] plateHashes) throws IOException {
+        int index = indexOf(bucketStart);
+        if (index < 0) {
+            index = -index - 1;
+            if (size == capacity()) {
+                entries = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * capacity() * ENTRY_SIZE);
+            }
+            for (int i = size; i > index; i--) {
+                for (int b = 0; b < ENTRY_SIZE; b += 8) {
+                    entries.putLong(i * ENTRY_SIZE + b, entries.getLong((i - 1) * ENTRY_SIZE + b));
+                }
+            }
+            size++;
+            entries.putLong(index * ENTRY_SIZE, bucketStart);
+            entries.putLong(index * ENTRY_SIZE + 8, minEntryMillis);
+            for (int b = 24; b < ENTRY_SIZE; b += 8) {
+                entries.putLong(index * ENTRY_SIZE + b, 0);
+            }
+        } else if (minEntryMillis < minEntry(index)) {
+            entries.putLong(index * ENTRY_SIZE + 8, minEntryMillis);
+        }
+        for (int hash : plateHashes) {
+            for (int k = 0; k < 3; k++) {
+                int bit = filterBit(hash, k);
+                int position = index * ENTRY_SIZE + 24 + bit / 8;
+                entries.put(position, (byte) (entries.get(position) | 1 << (bit & 7)));
+            }
+        }
+        // Refresh the running minimum here and at every earlier entry it lowers
+        for (int i = index; i >= 0; i--) {
+            long later = i + 1 < size ? minEntryFromHere(i + 1) : Long.MAX_VALUE;
+            long value = Math.min(minEntry(i), later);
+            if (i < index && value == minEntryFromHere(i)) {
+                break;
+            }
+            entries.putLong(i * ENTRY_SIZE + 16, value);
+        }
+    }
+
+    boolean contains(long bucketStart) {
+        return indexOf(bucketStart) >= 0;
+    }
+
+    /**
+     * Visits, in bucket order, the segments from {@code fromBucket} on that
+     * hold a session entered at or before {@code toMillis}.
+     */
+    void forEachEnteredBy(long fromBucket, long toMillis, BucketVisitor visitor) throws IOException {
+        int index = indexOf(fromBucket);
+        for (int i = index >= 0 ? index : -index - 1; i < size && minEntryFromHere(i) <= toMillis; i++) {
+            if (minEntry(i) <= toMillis) {
+                visitor.visit(bucket(i));
+            }
+        }
+    }
+
+    // Visits the segments whose filter admits the plate hash; a few may turn out not to hold the plate
+    void forEachMayHold(int plateHash, BucketVisitor visitor) throws IOException {
+        int[] bits = {filterBit(plateHash, 0), filterBit(plateHash, 1), filterBit(plateHash, 2)};
+        for (int i = 0; i < size; i++) {
+            int filter = i * ENTRY_SIZE + 24;
+            if ((entries.get(filter + bits[0] / 8) & 1 << (bits[0] & 7)) != 0
+                    && (entries.get(filter + bits[1] / 8) & 1 << (bits[1] & 7)) != 0
+                    && (entries.get(filter + bits[2] / 8) & 1 << (bits[2] & 7)) != 0) {
+                visitor.visit(bucket(i));
+            }
+        }
+    }
+
+    private int indexOf(long bucketStart) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long bucket = bucket(middle);
+            if (bucket < bucketStart) {
+                low = middle + 1;
+            } else if (bucket > bucketStart) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int capacity() {
+        return entries.capacity() / ENTRY_SIZE;
+    }
+
+    private long bucket(int index) {
+        return entries.getLong(index * ENTRY_SIZE);
+    }
+
+    private long minEntry(int index) {
+        return entries.getLong(index * ENTRY_SIZE + 8);
+    }
+
+    private long minEntryFromHere(int index) {
+        return entries.getLong(index * ENTRY_SIZE + 16);
+    }
+
+    // The k-th of three filter positions for a plate, by double hashing
+    private static int filterBit(int hash, int k) {
+        int second = Integer.rotateLeft(hash * 0x9E3779B9, 16) | 1;
+        return (hash + k * second) & (FILTER_BITS - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
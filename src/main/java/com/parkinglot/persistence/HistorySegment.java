@@ -0,0 +1,347 @@
+package com.parkinglot.persistence;
+
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.models.ParkingSession;
+import com.parkinglot.models.PlateKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The completed sessions whose exit time falls into one time bucket, held as
+ * parallel primitive columns. Rows sharing a license plate are chained
+ * through {@code previousRowOfPlate}, so a plate lookup only touches that
+ * plate's rows, and share a single {@link PlateKey} instance. Not thread-safe; {@link ParkingHistory} guards access.
+ *
+ * <p>On disk a segment keeps the same shape: a header with the row count and
+ * earliest entry time, the rows with each one pointing back at the plate's
+ * previous row, and a plate index sorted by hash that points at each plate's
+ * last row. Rolled segments are queried straight from the mapped file, so a
+ * query decodes only the rows it returns.
+ */
+final class HistorySegment {
+    private static final int MAGIC = 0x504C4831; // "PLH1"
+    private static final int VERSION = 2;
+    // Magic, version, bucket start, row count, earliest entry, plate count, plate index offset
+    private static final int HEADER_SIZE = 36;
+    // Ticket number, entry, exit, fee, vehicle type and the offset of the plate's previous row
+    private static final int FIXED_ROW_SIZE = 37;
+    // Plate hash and the offset of the plate's last row
+    private static final int INDEX_ENTRY_SIZE = 8;
+    private static final int INITIAL_ROWS = 64;
+
+    private final long bucketStart;
+    private int size;
+    private long minEntryMillis = Long.MAX_VALUE;
+    private long[] ticketNumbers = new long[INITIAL_ROWS];
+    private long[] entryMillis = new long[INITIAL_ROWS];
+    private long[] exitMillis = new long[INITIAL_ROWS];
+    private long[] feeCents = new long[INITIAL_ROWS];
+    private byte[] vehicleTypes = new byte[INITIAL_ROWS];
+    private PlateKey[] licensePlates = new PlateKey[INITIAL_ROWS];
+    private String[] spaceIds = new String[INITIAL_ROWS];
+    private int[] previousRowOfPlate = new int[INITIAL_ROWS];
+    private final Map<PlateKey, Integer> lastRowByPlate = new HashMap<>();
+
+    HistorySegment(long bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    long getBucketStart() {
+        return bucketStart;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long getMinEntryMillis() {
+        return minEntryMillis;
+    }
+
+    Collection<PlateKey> licensePlates() {
+        return lastRowByPlate.keySet();
+    }
+
+    void append(long ticketNumber, PlateKey licensePlate, VehicleType type, String spaceId,
+                long entry, long exit, long fee) {
+        if (size == ticketNumbers.length) {
+            grow();
+        }
+        int row = size++;
+        ticketNumbers[row] = ticketNumber;
+        entryMillis[row] = entry;
+        exitMillis[row] = exit;
+        feeCents[row] = fee;
+        vehicleTypes[row] = (byte) type.ordinal();
+        spaceIds[row] = spaceId;
+        Integer previous = lastRowByPlate.put(licensePlate, row);
+        previousRowOfPlate[row] = previous != null ? previous : -1;
+        licensePlates[row] = previous != null ? licensePlates[previous] : licensePlate;
+        minEntryMillis = Math.min(minEntryMillis, entry);
+    }
+
+    private void grow() {
+        int capacity = ticketNumbers.length * 2;
+        ticketNumbers = Arrays.copyOf(ticketNumbers, capacity);
+        entryMillis = Arrays.copyOf(entryMillis, capacity);
+        exitMillis = Arrays.copyOf(exitMillis, capacity);
+        feeCents = Arrays.copyOf(feeCents, capacity);
+        vehicleTypes = Arrays.copyOf(vehicleTypes, capacity);
+        licensePlates = Arrays.copyOf(licensePlates, capacity);
+        spaceIds = Arrays.copyOf(spaceIds, capacity);
+        previousRowOfPlate = Arrays.copyOf(previousRowOfPlate, capacity);
+    }
+
+    // Adds the sessions with entry <= to and exit >= from
+    void collectOverlapping(long from, long to, List<ParkingSession> out) {
+        if (minEntryMillis > to) {
+            return;
+        }
+        for (int row = 0; row < size; row++) {
+            if (entryMillis[row] <= to && exitMillis[row] >= from) {
+                out.add(sessionAt(row));
+            }
+        }
+    }
+
+    void collectForPlate(PlateKey licensePlate, List<ParkingSession> out) {
+        Integer last = lastRowByPlate.get(licensePlate);
+        for (int row = last != null ? last : -1; row >= 0; row = previousRowOfPlate[row]) {
+            out.add(sessionAt(row));
+        }
+    }
+
+    private ParkingSession sessionAt(int row) {
+        return new ParkingSession(ticketNumbers[row], licensePlates[row].toString(), VehicleType.values()[vehicleTypes[row]],
+                spaceIds[row], BinaryCodec.fromEpochMillis(entryMillis[row]),
+                BinaryCodec.fromEpochMillis(exitMillis[row]), feeCents[row]);
+    }
+
+    /**
+     * Writes the segment to a file, replacing any earlier copy atomically.
+     */
+    void writeTo(Path file) throws IOException {
+        write(encode(), file);
+    }
+
+    // The segment's file image, ready for write(); lets the file be written without holding the segment
+    ByteBuffer encode() {
+        int length = HEADER_SIZE + lastRowByPlate.size() * INDEX_ENTRY_SIZE;
+        for (int row = 0; row < size; row++) {
+            length += FIXED_ROW_SIZE + 4 + licensePlates[row].length() * 3 + spaceIds[row].length() * 3;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length + 4);
+        buffer.position(HEADER_SIZE);
+        int[] rowOffsets = new int[size];
+        for (int row = 0; row < size; row++) {
+            rowOffsets[row] = buffer.position();
+            buffer.putLong(ticketNumbers[row]);
+            buffer.putLong(entryMillis[row]);
+            buffer.putLong(exitMillis[row]);
+            buffer.putLong(feeCents[row]);
+            buffer.put(vehicleTypes[row]);
+            buffer.putInt(previousRowOfPlate[row] >= 0 ? rowOffsets[previousRowOfPlate[row]] : -1);
+            BinaryCodec.putPlate(buffer, licensePlates[row]);
+            BinaryCodec.putString(buffer, spaceIds[row]);
+        }
+        int indexOffset = buffer.position();
+        long[] index = new long[lastRowByPlate.size()];
+        int plates = 0;
+        for (Map.Entry<PlateKey, Integer> entry : lastRowByPlate.entrySet()) {
+            index[plates++] = (long) entry.getKey().hashCode() << 32 | rowOffsets[entry.getValue()];
+        }
+        Arrays.sort(index);
+        for (long entry : index) {
+            buffer.putLong(entry);
+        }
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, bucketStart).putInt(16, size)
+                .putLong(20, minEntryMillis).putInt(28, plates).putInt(32, indexOffset);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    static void write(ByteBuffer image, Path file) throws IOException {
+        ByteBuffer buffer = image.duplicate();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a whole segment back into memory, e.g. to append a late session
+     * to it, after checking the file's checksum.
+     */
+    static HistorySegment readFrom(Path file) throws IOException {
+        ByteBuffer data = map(file);
+        ByteBuffer body = data.duplicate();
+        body.position(0);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != data.duplicate().clear().getInt(data.limit())) {
+            throw new IOException("Parking history segment is corrupt: " + file);
+        }
+        try {
+            HistorySegment segment = new HistorySegment(data.getLong(8));
+            int rows = data.getInt(16);
+            data.position(HEADER_SIZE);
+            for (int row = 0; row < rows; row++) {
+                long ticketNumber = data.getLong();
+                long entry = data.getLong();
+                long exit = data.getLong();
+                long fee = data.getLong();
+                VehicleType type = VehicleType.values()[data.get()];
+                data.getInt();
+                PlateKey licensePlate = PlateKey.of(BinaryCodec.getString(data));
+                String spaceId = BinaryCodec.getString(data);
+                segment.append(ticketNumber, licensePlate, type, spaceId, entry, exit, fee);
+            }
+            return segment;
+        } catch (RuntimeException e) {
+            throw new IOException("Parking history segment is corrupt: " + file, e);
+        }
+    }
+
+    /**
+     * Reads what {@link ParkingHistory} needs to catalog a segment file: its
+     * header and the hashes in its plate index, not its rows.
+     */
+    static Summary readSummary(Path file) throws IOException {
+        ByteBuffer data = map(file);
+        try {
+            int plates = data.getInt(28);
+            int indexOffset = data.getInt(32);
+            int[] plateHashes = new int[plates];
+            for (int i = 0; i < plates; i++) {
+                plateHashes[i] = data.getInt(indexOffset + i * INDEX_ENTRY_SIZE);
+            }
+            return new Summary(data.getLong(8), data.getInt(16), data.getLong(20), plateHashes);
+        } catch (RuntimeException e) {
+            throw new IOException("Parking history segment is corrupt: " + file, e);
+        }
+    }
+
+    // File counterpart of collectOverlapping; only matching rows have their strings decoded
+    static void collectOverlapping(Path file, long from, long to, List<ParkingSession> out) throws IOException {
+        ByteBuffer data = map(file);
+        try {
+            if (data.getLong(20) > to) {
+                return;
+            }
+            int rows = data.getInt(16);
+            int offset = HEADER_SIZE;
+            for (int row = 0; row < rows; row++) {
+                int plateOffset = offset + FIXED_ROW_SIZE;
+                int spaceOffset = plateOffset + 2 + (data.getShort(plateOffset) & 0xFFFF);
+                if (data.getLong(offset + 8) <= to && data.getLong(offset + 16) >= from) {
+                    out.add(sessionAt(data, offset));
+                }
+                offset = spaceOffset + 2 + (data.getShort(spaceOffset) & 0xFFFF);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Parking history segment is corrupt: " + file, e);
+        }
+    }
+
+    // File counterpart of collectForPlate; finds the plate's last row through the index and follows its chain
+    static void collectForPlate(Path file, PlateKey licensePlate, List<ParkingSession> out) throws IOException {
+        ByteBuffer data = map(file);
+        try {
+            int plates = data.getInt(28);
+            int indexOffset = data.getInt(32);
+            int hash = licensePlate.hashCode();
+            int low = 0;
+            int high = plates;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (data.getInt(indexOffset + middle * INDEX_ENTRY_SIZE) < hash) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            for (int i = low; i < plates && data.getInt(indexOffset + i * INDEX_ENTRY_SIZE) == hash; i++) {
+                int offset = data.getInt(indexOffset + i * INDEX_ENTRY_SIZE + 4);
+                ByteBuffer plate = data.duplicate();
+                plate.position(offset + FIXED_ROW_SIZE);
+                if (!PlateKey.of(BinaryCodec.getString(plate)).equals(licensePlate)) {
+                    continue;
+                }
+                for (; offset >= 0; offset = data.getInt(offset + 33)) {
+                    out.add(sessionAt(data, offset));
+                }
+                return;
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Parking history segment is corrupt: " + file, e);
+        }
+    }
+
+    private static ParkingSession sessionAt(ByteBuffer data, int offset) {
+        ByteBuffer strings = data.duplicate();
+        strings.position(offset + FIXED_ROW_SIZE);
+        String licensePlate = BinaryCodec.getString(strings);
+        String spaceId = BinaryCodec.getString(strings);
+        return new ParkingSession(data.getLong(offset), licensePlate, VehicleType.values()[data.get(offset + 32)],
+                spaceId, BinaryCodec.fromEpochMillis(data.getLong(offset + 8)),
+                BinaryCodec.fromEpochMillis(data.getLong(offset + 16)), data.getLong(offset + 24));
+    }
+
+    // Maps a segment file with the checksum trailer cut off, after checking its header
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE + 4 || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a parking history segment: " + file);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            data.limit((int) fileSize - 4);
+            if (data.getInt(0) != MAGIC) {
+                throw new IOException("Not a parking history segment: " + file);
+            }
+            int version = data.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported parking history segment version " + version + ": " + file);
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Header facts of a segment file, see {@link #readSummary(Path)}.
+     */
+    static final class Summary {
+        final long bucketStart;
+        final int rows;
+        final long minEntryMillis;
+        final int[] plateHashes;
+
+        Summary(long bucketStart, int rows, long minEntryMillis, int[] plateHashes) {
+            this.bucketStart = bucketStart;
+            this.rows = rows;
+            this.minEntryMillis = minEntryMillis;
+            this.plateHashes = plateHashes;
+        }
+    }
+}
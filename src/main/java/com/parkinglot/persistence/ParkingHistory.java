@@ -0,0 +1,377 @@
+package com.parkinglot.persistence;
+
+import com.parkinglot.models.ParkingSession;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.PlateKey;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingEventListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Store of completed parking sessions, fed by registering it as a
+ * {@link ParkingEventListener} on the lot.
+ *
+ * <p>Sessions are grouped into segments by exit time, one segment per
+ * {@code segmentSpan}. Each segment keeps its rows in primitive columns and
+ * remembers its earliest entry time, so a range query only opens segments
+ * that can hold an overlapping session. A per-segment row chain answers plate
+ * queries without scanning other plates.
+ *
+ * <p>Only the newest {@code maxResidentSegments} segments stay in memory; older
+ * ones are written by a background roller to one file each in the history
+ * directory, together with their plate index and earliest entry time, and
+ * nothing about them is kept on the heap. The roller writes a copy of the
+ * segment without holding the lock, so gates never wait for the disk. A memory-mapped {@link HistoryCatalog} tells queries which
+ * rolled segments to open, and queries read only the matching rows of those
+ * files. Resident segments are written on {@link #close()}, and
+ * {@link #open(Path)} catalogs the files of earlier runs from their headers.
+ *
+ * <p>As a listener the history never fails the gate: sessions that end after
+ * {@link #close()} are dropped, and sessions that cannot be stored because a
+ * segment file cannot be read back are counted in
+ * {@link #getFailedSessionCount()}.
+ */
+public final class ParkingHistory implements ParkingEventListener, Closeable {
+    public static final Duration DEFAULT_SEGMENT_SPAN = Duration.ofHours(1);
+    public static final int DEFAULT_MAX_RESIDENT_SEGMENTS = 24;
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CATALOG_FILE = "segments.catalog";
+    private static final Comparator<ParkingSession> BY_ENTRY_TIME =
+            Comparator.comparing(ParkingSession::getEntryTime).thenComparingLong(ParkingSession::getTicketNumber);
+
+    private final Path directory;
+    private final long segmentSpanMillis;
+    private final int maxResidentSegments;
+
+    // Guarded by lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, HistorySegment> residentSegments = new TreeMap<>();
+    // Rolled segments; a segment reloaded for a late session is both rolled and resident
+    private final HistoryCatalog rolledSegments;
+    private long sessionCount;
+    private boolean closed;
+    private boolean rollScheduled;
+    // Held by the roller for a whole pass, and by close() so the two never write the same file
+    private final ReentrantLock rollLock = new ReentrantLock();
+    private final ExecutorService roller;
+    private final LongAdder failedSessions = new LongAdder();
+
+    private ParkingHistory(Path directory, long segmentSpanMillis, int maxResidentSegments,
+                           HistoryCatalog rolledSegments) {
+        this.directory = directory;
+        this.segmentSpanMillis = segmentSpanMillis;
+        this.maxResidentSegments = maxResidentSegments;
+        this.rolledSegments = rolledSegments;
+        this.roller = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "parking-history-roller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ParkingHistory open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SPAN, DEFAULT_MAX_RESIDENT_SEGMENTS);
+    }
+
+    /**
+     * @param segmentSpan         the exit-time range covered by one segment
+     * @param maxResidentSegments how many segments are kept in memory before the oldest is rolled to disk
+     */
+    public static ParkingHistory open(Path directory, Duration segmentSpan, int maxResidentSegments) throws IOException {
+        if (directory == null || segmentSpan == null) {
+            throw new IllegalArgumentException("Directory and segment span cannot be null");
+        }
+        if (segmentSpan.toMillis() <= 0) {
+            throw new IllegalArgumentException("Segment span must be at least one millisecond");
+        }
+        if (maxResidentSegments <= 0) {
+            throw new IllegalArgumentException("At least one segment must stay in memory");
+        }
+        Files.createDirectories(directory);
+        List<HistorySegment.Summary> summaries = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                summaries.add(HistorySegment.readSummary(file));
+            }
+        }
+        summaries.sort(Comparator.comparingLong(summary -> summary.bucketStart));
+        HistoryCatalog catalog = HistoryCatalog.create(directory.resolve(CATALOG_FILE));
+        ParkingHistory history = new ParkingHistory(directory, segmentSpan.toMillis(), maxResidentSegments, catalog);
+        try {
+            for (HistorySegment.Summary summary : summaries) {
+                catalog.put(summary.bucketStart, summary.minEntryMillis, summary.plateHashes);
+                history.sessionCount += summary.rows;
+            }
+        } catch (IOException | RuntimeException e) {
+            catalog.close();
+            throw e;
+        }
+        return history;
+    }
+
+    @Override
+    public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+        // Only completed sessions are kept
+    }
+
+    @Override
+    public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+        try {
+            append(ticket, vehicle, feeCents);
+        } catch (IOException e) {
+            failedSessions.increment();
+        }
+    }
+
+    /**
+     * Adds a completed session. The ticket must carry its exit time.
+     *
+     * @throws UncheckedIOException if the session belongs to a rolled segment that cannot be read back
+     */
+    public void record(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+        if (ticket == null || vehicle == null) {
+            throw new IllegalArgumentException("Ticket and vehicle cannot be null");
+        }
+        if (ticket.getExitTime() == null) {
+            throw new IllegalArgumentException("Ticket " + ticket.getTicketId() + " has not been redeemed");
+        }
+        try {
+            if (!append(ticket, vehicle, feeCents)) {
+                throw new IllegalStateException("History is closed");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load parking history segment", e);
+        }
+    }
+
+    // Adds a completed session; returns false once the history is closed
+    private boolean append(ParkingTicket ticket, Vehicle vehicle, long feeCents) throws IOException {
+        long entry = BinaryCodec.toEpochMillis(ticket.getEntryTime());
+        long exit = BinaryCodec.toEpochMillis(ticket.getExitTime());
+        long bucket = bucketOf(exit);
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            HistorySegment segment = residentSegments.get(bucket);
+            if (segment == null) {
+                segment = rolledSegments.contains(bucket)
+                        ? HistorySegment.readFrom(segmentFile(bucket))
+                        : new HistorySegment(bucket);
+                residentSegments.put(bucket, segment);
+            }
+            segment.append(ticket.getTicketNumber(), ticket.getPlateKey(), vehicle.getType(), ticket.getSpaceId(),
+                    entry, exit, feeCents);
+            sessionCount++;
+            if (!rollScheduled && residentSegments.size() > maxResidentSegments) {
+                rollScheduled = true;
+                roller.execute(this::rollOldSegments);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns every session that overlaps [from, to], i.e. entered at or
+     * before {@code to} and left at or after {@code from}, ordered by entry
+     * time.
+     */
+    public List<ParkingSession> findSessionsBetween(LocalDateTime from, LocalDateTime to) throws IOException {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Time range cannot be null");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End of range cannot be before its start");
+        }
+        long fromMillis = BinaryCodec.toEpochMillis(from);
+        long toMillis = BinaryCodec.toEpochMillis(to);
+        List<ParkingSession> sessions = new ArrayList<>();
+        long fromBucket = bucketOf(fromMillis);
+        lock.readLock().lock();
+        try {
+            // A session that left in or after the first bucket overlaps if it entered in time;
+            // each segment knows its earliest entry, so later buckets are only opened if they can match
+            for (HistorySegment segment : residentSegments.tailMap(fromBucket, true).values()) {
+                segment.collectOverlapping(fromMillis, toMillis, sessions);
+            }
+            rolledSegments.forEachEnteredBy(fromBucket, toMillis, bucket -> {
+                if (!residentSegments.containsKey(bucket)) {
+                    HistorySegment.collectOverlapping(segmentFile(bucket), fromMillis, toMillis, sessions);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        sessions.sort(BY_ENTRY_TIME);
+        return sessions;
+    }
+
+    /**
+     * Returns every recorded session of the given vehicle, ordered by entry time.
+     */
+    public List<ParkingSession> findSessionsByLicensePlate(String licensePlate) throws IOException {
+        if (licensePlate == null) {
+            throw new IllegalArgumentException("License plate cannot be null");
+        }
+        List<ParkingSession> sessions = new ArrayList<>();
+        if (licensePlate.isEmpty()) {
+            return sessions;
+        }
+        PlateKey plateKey = PlateKey.of(licensePlate);
+        lock.readLock().lock();
+        try {
+            for (HistorySegment segment : residentSegments.values()) {
+                segment.collectForPlate(plateKey, sessions);
+            }
+            rolledSegments.forEachMayHold(plateKey.hashCode(), bucket -> {
+                if (!residentSegments.containsKey(bucket)) {
+                    HistorySegment.collectForPlate(segmentFile(bucket), plateKey, sessions);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        sessions.sort(BY_ENTRY_TIME);
+        return sessions;
+    }
+
+    // Sessions reported to the listener that were lost because a segment file could not be read back
+    public long getFailedSessionCount() {
+        return failedSessions.sum();
+    }
+
+    public long getSessionCount() {
+        lock.readLock().lock();
+        try {
+            return sessionCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs on the roller. Encodes the oldest resident segment under the read
+     * lock, writes the file without any lock, then drops the segment from
+     * memory unless a late session reached it meanwhile, in which case it is
+     * written again. A segment that cannot be written stays resident and is
+     * retried after the next session.
+     */
+    private void rollOldSegments() {
+        rollLock.lock();
+        try {
+            while (true) {
+                Map.Entry<Long, HistorySegment> oldest = null;
+                int rows = 0;
+                long minEntryMillis = 0;
+                int[] hashes = null;
+                ByteBuffer image = null;
+                lock.readLock().lock();
+                try {
+                    if (!closed && residentSegments.size() > maxResidentSegments) {
+                        oldest = residentSegments.firstEntry();
+                        rows = oldest.getValue().size();
+                        minEntryMillis = oldest.getValue().getMinEntryMillis();
+                        hashes = plateHashes(oldest.getValue());
+                        image = oldest.getValue().encode();
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                boolean failed = false;
+                if (oldest != null) {
+                    try {
+                        HistorySegment.write(image, segmentFile(oldest.getKey()));
+                    } catch (IOException e) {
+                        failed = true;
+                    }
+                }
+                lock.writeLock().lock();
+                try {
+                    if (closed) {
+                        return;
+                    }
+                    if (!failed && oldest != null && residentSegments.get(oldest.getKey()) == oldest.getValue()
+                            && oldest.getValue().size() == rows) {
+                        rolledSegments.put(oldest.getKey(), minEntryMillis, hashes);
+                        residentSegments.remove(oldest.getKey());
+                    }
+                    if (failed || residentSegments.size() <= maxResidentSegments) {
+                        rollScheduled = false;
+                        return;
+                    }
+                } catch (IOException e) {
+                    rollScheduled = false;
+                    return;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            rollLock.unlock();
+        }
+    }
+
+    private static int[] plateHashes(HistorySegment segment) {
+        int[] hashes = new int[segment.licensePlates().size()];
+        int i = 0;
+        for (PlateKey licensePlate : segment.licensePlates()) {
+            hashes[i++] = licensePlate.hashCode();
+        }
+        return hashes;
+    }
+
+    private Path segmentFile(long bucket) {
+        return directory.resolve(bucket + SEGMENT_SUFFIX);
+    }
+
+    private long bucketOf(long millis) {
+        return Math.floorDiv(millis, segmentSpanMillis) * segmentSpanMillis;
+    }
+
+    /**
+     * Writes every resident segment to disk.
+     */
+    @Override
+    public void close() throws IOException {
+        rollLock.lock();
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            try {
+                for (Map.Entry<Long, HistorySegment> entry : residentSegments.entrySet()) {
+                    entry.getValue().writeTo(segmentFile(entry.getKey()));
+                }
+            } finally {
+                // Even a failed close leaves the catalog unmapped, so the history cannot be used again
+                closed = true;
+                roller.shutdown();
+                rolledSegments.close();
+            }
+            residentSegments.clear();
+        } finally {
+            lock.writeLock().unlock();
+            rollLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.parkinglot.persistence;
+
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingEventListener;
+import com.parkinglot.services.ParkingLotService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of park and unpark events, written through
+ * a memory-mapped file so that recording an event is a memory copy rather
+ * than a system call.
+ *
+ * <p>The file starts with an 8-byte header (magic, version) followed by
+ * records of the form {@code [int payloadLength][int crc32][payload]}. A park
+ * payload holds the ticket number, entry time, vehicle type, license plate
+ * and space ID; an unpark payload holds the ticket number, exit time and the
+ * fee charged in cents. A zero length or a checksum mismatch marks the end of
+ * the journal, so a record torn by a crash is simply dropped.
+ *
+ * <p>Durability uses group commit: a background committer forces everything
+ * appended so far to disk once per commit interval, so many gate events share
+ * one flush. Callers that must not continue before an event is on disk can
+ * call {@link #awaitDurable(long)}, or open the journal with synchronous
+ * commits; waiting gates still share a single flush.
+ *
+ * <p>On startup, {@link #replay(ParkingLotService)} rebuilds the spaces and
+ * active tickets of a freshly created lot. Register the journal as a listener
+ * only after replaying so recovered events are not written twice.
+ */
+public final class ParkingJournal implements ParkingEventListener, Closeable {
+    public static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+
+    private static final int MAGIC = 0x504C4A31; // "PLJ1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte PARK_RECORD = 1;
+    private static final byte UNPARK_RECORD = 2;
+    private static final int MAX_PAYLOAD_SIZE = 32 + 2 * (2 + BinaryCodec.MAX_STRING_BYTES);
+    private static final int MAX_RECORD_SIZE = RECORD_HEADER_SIZE + MAX_PAYLOAD_SIZE;
+    private static final int CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int READ_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long commitIntervalMillis;
+    private final boolean synchronousCommit;
+    private final Thread committer;
+
+    // Guarded by appendLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ByteBuffer payload = ByteBuffer.allocate(MAX_PAYLOAD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer chunk;
+    private long writePosition;
+
+    // Guarded by commitMonitor
+    private final Object commitMonitor = new Object();
+    private long durablePosition;
+    private boolean commitRequested;
+    private volatile boolean closed;
+
+    private ParkingJournal(FileChannel channel, long commitIntervalMillis, boolean synchronousCommit) throws IOException {
+        this.channel = channel;
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.synchronousCommit = synchronousCommit;
+
+        long end;
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+            end = HEADER_SIZE;
+        } else {
+            readHeader();
+            end = scanForEnd();
+        }
+        this.writePosition = end;
+        this.durablePosition = end;
+        this.chunk = channel.map(FileChannel.MapMode.READ_WRITE, end, CHUNK_SIZE);
+        // Wipe whatever is left of a torn record so it can never be mistaken for data later
+        for (int i = 0; i < MAX_RECORD_SIZE; i++) {
+            chunk.put(i, (byte) 0);
+        }
+
+        this.committer = new Thread(this::runCommitter, "parking-journal-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    public static ParkingJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_COMMIT_INTERVAL_MILLIS, false);
+    }
+
+    /**
+     * @param commitIntervalMillis how often buffered events are forced to disk
+     * @param synchronousCommit    if true, every event waits until it is durable
+     */
+    public static ParkingJournal open(Path path, long commitIntervalMillis, boolean synchronousCommit) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path cannot be null");
+        }
+        if (commitIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Commit interval must be positive");
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new ParkingJournal(channel, commitIntervalMillis, synchronousCommit);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Events reported after close are dropped: a listener must not fail the gate that reported them
+    @Override
+    public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+        long position = writePark(ticket, vehicle);
+        if (position >= 0 && synchronousCommit) {
+            awaitDurableUninterruptibly(position);
+        }
+    }
+
+    @Override
+    public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+        long position = writeUnpark(ticket, feeCents);
+        if (position >= 0 && synchronousCommit) {
+            awaitDurableUninterruptibly(position);
+        }
+    }
+
+    /**
+     * Records a park event.
+     *
+     * @return the journal position just past the record, for {@link #awaitDurable(long)}
+     * @throws IllegalStateException if the journal is closed
+     */
+    public long appendPark(ParkingTicket ticket, Vehicle vehicle) {
+        return requireOpen(writePark(ticket, vehicle));
+    }
+
+    /**
+     * Records an unpark event together with the fee charged.
+     *
+     * @return the journal position just past the record, for {@link #awaitDurable(long)}
+     * @throws IllegalStateException if the journal is closed
+     */
+    public long appendUnpark(ParkingTicket ticket, long feeCents) {
+        return requireOpen(writeUnpark(ticket, feeCents));
+    }
+
+    private static long requireOpen(long position) {
+        if (position < 0) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        return position;
+    }
+
+    // Returns the position just past the record, or -1 if the journal is closed
+    private long writePark(ParkingTicket ticket, Vehicle vehicle) {
+        appendLock.lock();
+        try {
+            payload.clear();
+            payload.put(PARK_RECORD);
+            payload.putLong(ticket.getTicketNumber());
+            payload.putLong(BinaryCodec.toEpochMillis(ticket.getEntryTime()));
+            payload.put((byte) vehicle.getType().ordinal());
+            BinaryCodec.putPlate(payload, ticket.getPlateKey());
+            BinaryCodec.putString(payload, ticket.getSpaceId());
+            return appendPayload();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Returns the position just past the record, or -1 if the journal is closed
+    private long writeUnpark(ParkingTicket ticket, long feeCents) {
+        appendLock.lock();
+        try {
+            payload.clear();
+            payload.put(UNPARK_RECORD);
+            payload.putLong(ticket.getTicketNumber());
+            payload.putLong(BinaryCodec.toEpochMillis(ticket.getExitTime()));
+            payload.putLong(feeCents);
+            return appendPayload();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Copies the encoded payload into the mapped file; caller holds appendLock
+    private long appendPayload() {
+        if (closed) {
+            return -1;
+        }
+        payload.flip();
+        int length = payload.remaining();
+        crc.reset();
+        crc.update(payload.array(), 0, length);
+        if (chunk.remaining() < RECORD_HEADER_SIZE + length) {
+            rollChunk();
+        }
+        chunk.putInt(length);
+        chunk.putInt((int) crc.getValue());
+        chunk.put(payload);
+        writePosition += RECORD_HEADER_SIZE + length;
+        return writePosition;
+    }
+
+    // Maps the next region of the file; the full chunk is flushed first so the committer only tracks one
+    private void rollChunk() {
+        try {
+            chunk.force();
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, writePosition, CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to extend parking journal", e);
+        }
+    }
+
+    /**
+     * Returns the position just past the last appended record.
+     */
+    public long getWritePosition() {
+        appendLock.lock();
+        try {
+            return writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every record up to the given position is on disk. Waiting
+     * callers are served together by the next group commit.
+     */
+    public void awaitDurable(long position) throws InterruptedException {
+        synchronized (commitMonitor) {
+            while (durablePosition < position) {
+                if (closed) {
+                    throw new IllegalStateException("Journal is closed");
+                }
+                commitRequested = true;
+                commitMonitor.notifyAll();
+                commitMonitor.wait();
+            }
+        }
+    }
+
+    // Returns early on interrupt or close, which flushes everything appended anyway
+    private void awaitDurableUninterruptibly(long position) {
+        try {
+            awaitDurable(position);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            // Closed while waiting
+        }
+    }
+
+    /**
+     * Forces every appended record to disk now instead of at the next interval.
+     */
+    public void flush() {
+        commit();
+    }
+
+    private void runCommitter() {
+        while (!closed) {
+            synchronized (commitMonitor) {
+                if (!commitRequested && !closed) {
+                    try {
+                        commitMonitor.wait(commitIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                commitRequested = false;
+            }
+            commit();
+        }
+    }
+
+    private void commit() {
+        MappedByteBuffer target;
+        long position;
+        appendLock.lock();
+        try {
+            target = chunk;
+            position = writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+        synchronized (commitMonitor) {
+            if (position <= durablePosition) {
+                commitMonitor.notifyAll();
+                return;
+            }
+        }
+        target.force();
+        synchronized (commitMonitor) {
+            if (position > durablePosition) {
+                durablePosition = position;
+            }
+            commitMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Replays every recorded event into a freshly created lot.
+     *
+     * @return the number of records that changed the lot
+     */
+    public int replay(ParkingLotService lot) throws IOException, ParkingException {
+        return replay(lot, HEADER_SIZE);
+    }
+
+    /**
+     * Replays the events recorded at or after the given journal position, e.g.
+     * the position saved alongside a snapshot. A park whose ticket is already
+     * active, or whose space or plate a later ticket already holds, counts as
+     * applied, and an unpark of a ticket that is not active is skipped. That
+     * makes it safe to replay a range the lot partly reflects, such as the
+     * events that ran while a snapshot was being taken.
+     *
+     * @return the number of records that changed the lot
+     */
+    public int replay(ParkingLotService lot, long fromPosition) throws IOException, ParkingException {
+        if (lot == null) {
+            throw new IllegalArgumentException("Lot cannot be null");
+        }
+        if (fromPosition < HEADER_SIZE) {
+            throw new IllegalArgumentException("Replay must start at or after the journal header");
+        }
+        int[] applied = new int[1];
+        forEachRecord(fromPosition, record -> {
+            if (apply(record, lot)) {
+                applied[0]++;
+            }
+        });
+        return applied[0];
+    }
+
+    // Returns false if the lot already reflected the event
+    private static boolean apply(ByteBuffer record, ParkingLotService lot) throws ParkingException {
+        byte type = record.get();
+        long ticketNumber = record.getLong();
+        LocalDateTime time = BinaryCodec.fromEpochMillis(record.getLong());
+        switch (type) {
+            case PARK_RECORD:
+                VehicleType vehicleType = VehicleType.values()[record.get()];
+                String licensePlate = BinaryCodec.getString(record);
+                String spaceId = BinaryCodec.getString(record);
+                return lot.recoverParkedVehicle(new ParkingTicket(ticketNumber, licensePlate, spaceId, time),
+                        Vehicle.of(vehicleType, licensePlate));
+            case UNPARK_RECORD:
+                return lot.recoverUnparkedVehicle(ticketNumber, time) != null;
+            default:
+                throw new IllegalStateException("Unknown journal record type: " + type);
+        }
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Not a parking journal");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported parking journal version: " + version);
+        }
+    }
+
+    private long scanForEnd() throws IOException {
+        try {
+            return forEachRecord(HEADER_SIZE, record -> { });
+        } catch (ParkingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface RecordVisitor {
+        void visit(ByteBuffer record) throws ParkingException;
+    }
+
+    /**
+     * Visits valid records from the given position until the first empty,
+     * corrupt or truncated one.
+     *
+     * @return the position just past the last valid record
+     */
+    private long forEachRecord(long from, RecordVisitor visitor) throws IOException, ParkingException {
+        CRC32 checksum = new CRC32();
+        long fileSize = channel.size();
+        long position = from;
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            int windowSize = (int) Math.min(READ_WINDOW_SIZE, fileSize - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            int offset = 0;
+            while (offset + RECORD_HEADER_SIZE <= windowSize) {
+                int length = window.getInt(offset);
+                if (length <= 0 || length > MAX_PAYLOAD_SIZE) {
+                    return position + offset;
+                }
+                int start = offset + RECORD_HEADER_SIZE;
+                if (start + length > windowSize) {
+                    break;
+                }
+                ByteBuffer record = window.duplicate();
+                record.limit(start + length).position(start);
+                record = record.slice();
+                checksum.reset();
+                checksum.update(record.duplicate());
+                if ((int) checksum.getValue() != window.getInt(offset + 4)) {
+                    return position + offset;
+                }
+                visitor.visit(record);
+                offset = start + length;
+            }
+            if (offset == 0) {
+                // The record runs past the end of the file
+                return position;
+            }
+            position += offset;
+        }
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        synchronized (commitMonitor) {
+            closed = true;
+            commitMonitor.notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            chunk.force();
+            synchronized (commitMonitor) {
+                durablePosition = writePosition;
+                commitMonitor.notifyAll();
+            }
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
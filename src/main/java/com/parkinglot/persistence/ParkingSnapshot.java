@@ -0,0 +1,215 @@
+package com.parkinglot.persistence;
+
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingLotService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary image of a lot's active tickets, used to start up without
+ * replaying the whole journal.
+ *
+ * <p>The file holds a header (magic, version, last issued ticket number and
+ * the journal position the snapshot was started at), one entry per active
+ * ticket (ticket number, entry time, vehicle type, license plate and space
+ * ID), a zero end marker and a CRC32 of everything before it. Occupancy is
+ * not stored separately since every occupied space is named by a ticket.
+ *
+ * <p>Taking a snapshot never locks the lot, so it can run on a background
+ * thread while the gates keep working. The result is fuzzy: each park and
+ * unpark journaled while it ran may or may not be included, so a space can
+ * even appear under two tickets. To get an exact state, restore the snapshot
+ * and then replay the journal from {@link #getJournalPosition()}; replay
+ * treats a park as applied when its ticket, or a later ticket for the same
+ * space or plate, is already in the lot.
+ */
+public final class ParkingSnapshot {
+    private static final int MAGIC = 0x504C5331; // "PLS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final byte TICKET_ENTRY = 1;
+    private static final byte END_MARKER = 0;
+    private static final int MAX_ENTRY_SIZE = 18 + 2 * (2 + BinaryCodec.MAX_STRING_BYTES);
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+    private final long lastIssuedTicketNumber;
+    private final long journalPosition;
+    private final int restoredTickets;
+    private final int skippedTickets;
+
+    private ParkingSnapshot(long lastIssuedTicketNumber, long journalPosition, int restoredTickets, int skippedTickets) {
+        this.lastIssuedTicketNumber = lastIssuedTicketNumber;
+        this.journalPosition = journalPosition;
+        this.restoredTickets = restoredTickets;
+        this.skippedTickets = skippedTickets;
+    }
+
+    /**
+     * Writes a snapshot of the lot that does not refer to any journal.
+     */
+    public static void write(ParkingLotService lot, Path path) throws IOException {
+        write(lot, path, 0);
+    }
+
+    /**
+     * Writes a snapshot of the lot, remembering where the journal stood when
+     * the snapshot started so that restore knows where to resume replay.
+     */
+    public static void write(ParkingLotService lot, ParkingJournal journal, Path path) throws IOException {
+        if (journal == null) {
+            throw new IllegalArgumentException("Journal cannot be null");
+        }
+        // Read the position first: everything journaled before it is already visible in the lot
+        write(lot, path, journal.getWritePosition());
+    }
+
+    private static void write(ParkingLotService lot, Path path, long journalPosition) throws IOException {
+        if (lot == null || path == null) {
+            throw new IllegalArgumentException("Lot and path cannot be null");
+        }
+        long lastIssued = lot.getTicketIdGenerator().getLastIssued();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            CRC32 crc = new CRC32();
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(lastIssued).putLong(journalPosition);
+            try {
+                lot.forEachActiveTicket((ticket, vehicle) -> {
+                    if (buffer.remaining() < MAX_ENTRY_SIZE) {
+                        drain(channel, buffer, crc);
+                    }
+                    buffer.put(TICKET_ENTRY);
+                    buffer.putLong(ticket.getTicketNumber());
+                    buffer.putLong(BinaryCodec.toEpochMillis(ticket.getEntryTime()));
+                    buffer.put((byte) vehicle.getType().ordinal());
+                    BinaryCodec.putPlate(buffer, ticket.getPlateKey());
+                    BinaryCodec.putString(buffer, ticket.getSpaceId());
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            drain(channel, buffer, crc);
+            buffer.put(END_MARKER);
+            drain(channel, buffer, crc);
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer, CRC32 crc) {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Loads a snapshot into a freshly created lot in a single pass over the
+     * mapped file. Entries that clash with tickets already in the lot are
+     * skipped; replaying the journal from {@link #getJournalPosition()}
+     * settles them.
+     *
+     * @throws IOException if the file is not a valid, complete snapshot
+     */
+    public static ParkingSnapshot restore(Path path, ParkingLotService lot) throws IOException {
+        if (path == null || lot == null) {
+            throw new IllegalArgumentException("Path and lot cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE + 5 || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a parking snapshot: unexpected size " + fileSize);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int bodyEnd = (int) fileSize - 4;
+            ByteBuffer body = data.duplicate();
+            body.limit(bodyEnd);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if ((int) crc.getValue() != data.getInt(bodyEnd)) {
+                throw new IOException("Parking snapshot is corrupt: checksum mismatch");
+            }
+
+            data.limit(bodyEnd);
+            if (data.getInt() != MAGIC) {
+                throw new IOException("Not a parking snapshot");
+            }
+            int version = data.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported parking snapshot version: " + version);
+            }
+            long lastIssued = data.getLong();
+            long journalPosition = data.getLong();
+            int restored = 0;
+            int skipped = 0;
+            byte marker;
+            while ((marker = data.get()) == TICKET_ENTRY) {
+                long ticketNumber = data.getLong();
+                LocalDateTime entryTime = BinaryCodec.fromEpochMillis(data.getLong());
+                VehicleType type = VehicleType.values()[data.get()];
+                String licensePlate = BinaryCodec.getString(data);
+                String spaceId = BinaryCodec.getString(data);
+                try {
+                    if (lot.recoverParkedVehicle(new ParkingTicket(ticketNumber, licensePlate, spaceId, entryTime),
+                            Vehicle.of(type, licensePlate))) {
+                        restored++;
+                    } else {
+                        skipped++;
+                    }
+                } catch (ParkingException e) {
+                    skipped++;
+                }
+            }
+            if (marker != END_MARKER) {
+                throw new IOException("Parking snapshot is corrupt: unknown entry type " + marker);
+            }
+            lot.getTicketIdGenerator().advanceTo(lastIssued);
+            return new ParkingSnapshot(lastIssued, journalPosition, restored, skipped);
+        }
+    }
+
+    public long getLastIssuedTicketNumber() {
+        return lastIssuedTicketNumber;
+    }
+
+    /**
+     * Returns the journal position to resume replay from, or 0 if the
+     * snapshot was taken without a journal.
+     */
+    public long getJournalPosition() {
+        return journalPosition;
+    }
+
+    public int getRestoredTickets() {
+        return restoredTickets;
+    }
+
+    public int getSkippedTickets() {
+        return skippedTickets;
+    }
+}
@@ -0,0 +1,253 @@
+package com.parkinglot.services;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.models.ParkingResult;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link IAsyncParkingLotService} served by a single event-loop thread that
+ * owns a {@link ParkingLotService}. Callers hand operations over through a
+ * lock-free queue and get a future back, so they never wait on the lot's
+ * locks; with only one writer those locks are never contended either.
+ *
+ * <p>After every operation that changes the lot, the loop publishes an
+ * immutable snapshot of the availability counters before completing the
+ * operation's future. Snapshot reads are a single volatile read, never queue
+ * behind pending writes, and always reflect every completed write.
+ *
+ * <p>Futures are completed on the event loop, so dependent stages attached
+ * without an executor run there too; use the {@code *Async} stage methods
+ * for anything slow.
+ */
+public class AsyncParkingLotService implements IAsyncParkingLotService, AutoCloseable {
+    private final ParkingLotService lot;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread eventLoop;
+    private volatile boolean idle;
+    private volatile boolean closed;
+    private volatile LotSnapshot snapshot;
+
+    public AsyncParkingLotService(int smallSpaces, int mediumSpaces, int largeSpaces) {
+        this(new ParkingLotService(smallSpaces, mediumSpaces, largeSpaces));
+    }
+
+    /**
+     * Wraps an existing lot. The lot must not be used directly afterwards,
+     * or the published snapshot will miss those changes.
+     */
+    public AsyncParkingLotService(ParkingLotService lot) {
+        if (lot == null) {
+            throw new IllegalArgumentException("Lot cannot be null");
+        }
+        this.lot = lot;
+        this.snapshot = LotSnapshot.of(lot);
+        this.eventLoop = new Thread(this::runEventLoop, "parking-lot-event-loop");
+        eventLoop.setDaemon(true);
+        eventLoop.start();
+    }
+
+    @Override
+    public CompletableFuture<ParkingTicket> parkVehicle(Vehicle vehicle) {
+        return submitWrite(() -> lot.parkVehicle(vehicle));
+    }
+
+    @Override
+    public CompletableFuture<Vehicle> unparkVehicle(String ticketId) {
+        return submitWrite(() -> lot.unparkVehicle(ticketId));
+    }
+
+    @Override
+    public CompletableFuture<List<ParkingResult<ParkingTicket>>> parkVehicles(List<Vehicle> vehicles) {
+        return submitWrite(() -> lot.parkVehicles(vehicles));
+    }
+
+    @Override
+    public CompletableFuture<List<ParkingResult<Vehicle>>> unparkVehicles(List<String> ticketIds) {
+        return submitWrite(() -> lot.unparkVehicles(ticketIds));
+    }
+
+    @Override
+    public CompletableFuture<Vehicle> findVehicleByLicensePlate(String licensePlate) {
+        return submit(() -> lot.findVehicleByLicensePlate(licensePlate), false);
+    }
+
+    @Override
+    public CompletableFuture<BigDecimal> calculateParkingFee(String ticketId) {
+        return submit(() -> lot.calculateParkingFee(ticketId), false);
+    }
+
+    @Override
+    public Map<SpaceSize, Integer> getAvailableSpaces() {
+        LotSnapshot current = snapshot;
+        Map<SpaceSize, Integer> available = new EnumMap<>(SpaceSize.class);
+        for (SpaceSize size : SpaceSize.values()) {
+            available.put(size, current.available[size.ordinal()]);
+        }
+        return available;
+    }
+
+    @Override
+    public int getAvailableSpaces(SpaceSize size) {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        return snapshot.available[size.ordinal()];
+    }
+
+    @Override
+    public boolean isFull() {
+        return snapshot.free == 0;
+    }
+
+    @Override
+    public int getTotalCapacity() {
+        return snapshot.capacity;
+    }
+
+    @Override
+    public int getOccupiedSpaces() {
+        return snapshot.occupied;
+    }
+
+    // Spaces held by reservations, counted in neither the free nor the occupied spaces
+    public int getHeldSpaces() {
+        return snapshot.held;
+    }
+
+    @Override
+    public double getOccupancyRate() {
+        LotSnapshot current = snapshot;
+        if (current.capacity == 0) {
+            return 0.0;
+        }
+        return current.occupied * 100.0 / current.capacity;
+    }
+
+    private <T> CompletableFuture<T> submitWrite(Callable<T> operation) {
+        return submit(operation, true);
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> operation, boolean publishAfter) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IllegalStateException("Parking lot service is closed"));
+            return future;
+        }
+        tasks.offer(() -> {
+            // Anything thrown, even an Error, fails only this operation; the loop must keep serving the queue
+            T result = null;
+            Throwable failure = null;
+            try {
+                result = operation.call();
+            } catch (Throwable e) {
+                failure = e;
+            }
+            if (publishAfter) {
+                try {
+                    snapshot = LotSnapshot.of(lot);
+                } catch (Throwable e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        });
+        // Only wake the loop if it is parked; a busy loop will find the task on its own
+        if (idle) {
+            LockSupport.unpark(eventLoop);
+        }
+        if (closed && !eventLoop.isAlive()) {
+            // Raced with close() after the loop exited; nobody else will run the task
+            drainRemaining();
+        }
+        return future;
+    }
+
+    private void drainRemaining() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void runEventLoop() {
+        while (true) {
+            Runnable task = tasks.poll();
+            if (task != null) {
+                task.run();
+                continue;
+            }
+            if (closed) {
+                return;
+            }
+            idle = true;
+            // Re-check after announcing idleness so a task offered in between is not missed
+            if (tasks.isEmpty() && !closed) {
+                LockSupport.park(this);
+            }
+            idle = false;
+        }
+    }
+
+    /**
+     * Stops accepting operations, finishes the ones already queued and stops
+     * the event loop. If the calling thread is interrupted while waiting, it
+     * returns early with its interrupt flag set; the loop still finishes the
+     * queued operations on its own.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(eventLoop);
+        try {
+            eventLoop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        drainRemaining();
+    }
+
+    // Immutable copy of the lot's counters, published by the event loop
+    private static final class LotSnapshot {
+        final int[] available;
+        final int free;
+        final int held;
+        final int occupied;
+        final int capacity;
+
+        private LotSnapshot(int[] available, int free, int held, int occupied, int capacity) {
+            this.available = available;
+            this.free = free;
+            this.held = held;
+            this.occupied = occupied;
+            this.capacity = capacity;
+        }
+
+        static LotSnapshot of(ParkingLotService lot) {
+            int[] available = new int[SpaceSize.values().length];
+            int free = 0;
+            for (SpaceSize size : SpaceSize.values()) {
+                available[size.ordinal()] = lot.getAvailableSpaces(size);
+                free += available[size.ordinal()];
+            }
+            return new LotSnapshot(available, free, lot.getHeldSpaces(), lot.getOccupiedSpaces(), lot.getTotalCapacity());
+        }
+    }
+}
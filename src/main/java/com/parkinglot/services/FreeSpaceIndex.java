@@ -0,0 +1,91 @@
+package com.parkinglot.services;
+
+/**
+ * Index of the free slots for a single space size.
+ * Free slots are kept in a dense stack together with each slot's position in
+ * that stack, so allocating any free slot, releasing a slot and claiming a
+ * specific slot are all O(1) without scanning the spaces themselves.
+ * Slots are handed out lowest-first on a fresh index, and the most recently
+ * released slot is reused first afterwards.
+ * Not thread-safe; callers guard each index with their own lock.
+ */
+final class FreeSpaceIndex {
+    private static final int NOT_FREE = -1;
+
+    // free[0..freeCount) holds the free slots, top of the stack last
+    private final int[] free;
+    // position of each slot inside free[], or NOT_FREE when the slot is taken
+    private final int[] position;
+    private int freeCount;
+
+    FreeSpaceIndex(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.free = new int[capacity];
+        this.position = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            int slot = capacity - 1 - i;
+            free[i] = slot;
+            position[slot] = i;
+        }
+        this.freeCount = capacity;
+    }
+
+    /**
+     * Takes a free slot out of the index.
+     *
+     * @return the claimed slot, or -1 if no slot is free
+     */
+    int allocate() {
+        if (freeCount == 0) {
+            return -1;
+        }
+        int slot = free[--freeCount];
+        position[slot] = NOT_FREE;
+        return slot;
+    }
+
+    /**
+     * Takes a specific slot out of the index.
+     *
+     * @return false if the slot was not free
+     */
+    boolean claim(int slot) {
+        int pos = position[slot];
+        if (pos == NOT_FREE) {
+            return false;
+        }
+        int last = free[--freeCount];
+        free[pos] = last;
+        position[last] = pos;
+        position[slot] = NOT_FREE;
+        return true;
+    }
+
+    /**
+     * Returns a slot to the index.
+     *
+     * @return false if the slot was already free
+     */
+    boolean release(int slot) {
+        if (position[slot] != NOT_FREE) {
+            return false;
+        }
+        position[slot] = freeCount;
+        free[freeCount++] = slot;
+        return true;
+    }
+
+    boolean isFree(int slot) {
+        return position[slot] != NOT_FREE;
+    }
+
+    int freeCount() {
+        return freeCount;
+    }
+
+    int capacity() {
+        return free.length;
+    }
+}
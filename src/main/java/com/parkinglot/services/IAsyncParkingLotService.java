@@ -0,0 +1,39 @@
+package com.parkinglot.services;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.models.ParkingResult;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link IParkingLotService}. Operations return
+ * futures that complete exceptionally with the same {@code ParkingException}s
+ * the synchronous methods throw. Availability and occupancy are answered
+ * immediately from the most recently published state.
+ */
+public interface IAsyncParkingLotService {
+    // Core operations
+    CompletableFuture<ParkingTicket> parkVehicle(Vehicle vehicle);
+    CompletableFuture<Vehicle> unparkVehicle(String ticketId);
+
+    // Batch operations; failures are reported per item
+    CompletableFuture<List<ParkingResult<ParkingTicket>>> parkVehicles(List<Vehicle> vehicles);
+    CompletableFuture<List<ParkingResult<Vehicle>>> unparkVehicles(List<String> ticketIds);
+
+    // Additional operations
+    CompletableFuture<Vehicle> findVehicleByLicensePlate(String licensePlate);
+    CompletableFuture<BigDecimal> calculateParkingFee(String ticketId);
+
+    // Snapshot reads; never wait for pending operations
+    Map<SpaceSize, Integer> getAvailableSpaces();
+    int getAvailableSpaces(SpaceSize size);
+    boolean isFull();
+    int getTotalCapacity();
+    int getOccupiedSpaces();
+    double getOccupancyRate();
+}
@@ -3,10 +3,12 @@ package com.parkinglot.services;
 import com.parkinglot.enums.SpaceSize;
 import com.parkinglot.enums.VehicleType;
 import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingResult;
 import com.parkinglot.models.ParkingTicket;
 import com.parkinglot.models.Vehicle;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -15,11 +17,23 @@ public interface IParkingLotService {
     ParkingTicket parkVehicle(Vehicle vehicle) throws ParkingException;
     Vehicle unparkVehicle(String ticketId) throws ParkingException;
     Map<SpaceSize, Integer> getAvailableSpaces();
+    // Allocation-free counterpart of getAvailableSpaces() for a single size
+    int getAvailableSpaces(SpaceSize size);
     boolean isFull();
+
+    // Exception-free counterparts of parkVehicle and unparkVehicle, for paths where failure is routine
+    ParkingResult<ParkingTicket> tryParkVehicle(Vehicle vehicle);
+    ParkingResult<Vehicle> tryUnparkVehicle(String ticketId);
+
+    // Batch operations; failures are reported per item instead of thrown
+    List<ParkingResult<ParkingTicket>> parkVehicles(List<Vehicle> vehicles);
+    List<ParkingResult<Vehicle>> unparkVehicles(List<String> ticketIds);
     
     // Additional operations
     Vehicle findVehicleByLicensePlate(String licensePlate);
     List<Vehicle> getAllVehiclesOfType(VehicleType type);
+    // Unmodifiable live view of the parked vehicles of a type; reflects later parks and unparks
+    Collection<Vehicle> getVehiclesOfTypeView(VehicleType type);
     BigDecimal calculateParkingFee(String ticketId) throws ParkingException;
     
     // Statistics
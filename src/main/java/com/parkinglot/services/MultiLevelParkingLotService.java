@@ -0,0 +1,379 @@
+package com.parkinglot.services;
+
+import com.parkinglot.enums.LevelRoutingPolicy;
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.exceptions.InvalidTicketException;
+import com.parkinglot.exceptions.NoAvailableSpaceException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.ParkingResult;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.PlateKey;
+import com.parkinglot.models.Vehicle;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A garage made of several levels, each an independent
+ * {@link ParkingLotService} with its own spaces, locks and indexes, behind a
+ * single {@link IParkingLotService}. Arrivals are routed to a level by the
+ * {@link LevelRoutingPolicy}; exits go straight to the level that issued the
+ * ticket. All levels draw from one {@link TicketIdGenerator}, so ticket IDs
+ * are unique across the garage, and a license plate can only be parked on
+ * one level at a time.
+ *
+ * <p>Garage-wide statistics are sums of each level's lock-free counters.
+ * Levels must only be used through this facade once it has been created.
+ */
+public class MultiLevelParkingLotService implements IParkingLotService {
+    // Holds a license plate while its vehicle is being routed to a level
+    private static final int PENDING_LEVEL = -1;
+
+    private final List<ParkingLotService> levels;
+    private final LevelRoutingPolicy routingPolicy;
+    private final Map<Long, Integer> levelByTicket;
+    private final Map<PlateKey, Integer> levelByPlate;
+    private final Map<VehicleType, Collection<Vehicle>> vehiclesByTypeViews;
+
+    /**
+     * Creates a garage of identical levels, routed to the nearest level first.
+     */
+    public MultiLevelParkingLotService(int levelCount, int smallSpaces, int mediumSpaces, int largeSpaces) {
+        this(createLevels(levelCount, smallSpaces, mediumSpaces, largeSpaces), LevelRoutingPolicy.NEAREST);
+    }
+
+    /**
+     * @param levels the levels, nearest first; they must share one ticket ID generator
+     */
+    public MultiLevelParkingLotService(List<ParkingLotService> levels, LevelRoutingPolicy routingPolicy) {
+        if (levels == null || levels.isEmpty()) {
+            throw new IllegalArgumentException("At least one level is required");
+        }
+        if (routingPolicy == null) {
+            throw new IllegalArgumentException("Routing policy cannot be null");
+        }
+        TicketIdGenerator generator = levels.get(0).getTicketIdGenerator();
+        for (ParkingLotService level : levels) {
+            if (level.getTicketIdGenerator() != generator) {
+                throw new IllegalArgumentException("All levels must share one ticket ID generator");
+            }
+        }
+        this.levels = List.copyOf(levels);
+        this.routingPolicy = routingPolicy;
+        this.levelByTicket = new ConcurrentHashMap<>();
+        this.levelByPlate = new ConcurrentHashMap<>();
+        this.vehiclesByTypeViews = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            vehiclesByTypeViews.put(type, new LevelsView(type));
+        }
+    }
+
+    private static List<ParkingLotService> createLevels(int levelCount, int smallSpaces, int mediumSpaces,
+                                                        int largeSpaces) {
+        if (levelCount <= 0) {
+            throw new IllegalArgumentException("Number of levels must be positive");
+        }
+        TicketIdGenerator generator = new TicketIdGenerator();
+        List<ParkingLotService> levels = new ArrayList<>(levelCount);
+        for (int i = 0; i < levelCount; i++) {
+            levels.add(new ParkingLotService(smallSpaces, mediumSpaces, largeSpaces, generator));
+        }
+        return levels;
+    }
+
+    @Override
+    public ParkingTicket parkVehicle(Vehicle vehicle) throws ParkingException {
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Vehicle cannot be null");
+        }
+        ParkingResult<ParkingTicket> result = tryParkVehicle(vehicle);
+        switch (result.getStatus()) {
+            case SUCCESS:
+                return result.getValue();
+            case NO_AVAILABLE_SPACE:
+                throw new NoAvailableSpaceException(vehicle.getType().toString());
+            default:
+                throw new ParkingException(result.getMessage());
+        }
+    }
+
+    @Override
+    public ParkingResult<ParkingTicket> tryParkVehicle(Vehicle vehicle) {
+        if (vehicle == null) {
+            return ParkingResult.failure(ParkingStatus.INVALID_VEHICLE, "Vehicle cannot be null");
+        }
+        PlateKey licensePlate = vehicle.getPlateKey();
+        if (levelByPlate.putIfAbsent(licensePlate, PENDING_LEVEL) != null) {
+            return ParkingResult.failure(ParkingStatus.ALREADY_PARKED,
+                    "Vehicle with license plate " + licensePlate + " is already parked");
+        }
+        ParkingResult<ParkingTicket> result = null;
+        try {
+            for (int level : routeOrder(vehicle)) {
+                result = levels.get(level).tryParkVehicle(vehicle);
+                if (result.isSuccess()) {
+                    levelByTicket.put(result.getValue().getTicketNumber(), level);
+                    levelByPlate.put(licensePlate, level);
+                    return result;
+                }
+                // A level another gate has just filled is skipped; any other failure ends the search
+                if (result.getStatus() != ParkingStatus.NO_AVAILABLE_SPACE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            levelByPlate.remove(licensePlate, PENDING_LEVEL);
+            throw e;
+        }
+        levelByPlate.remove(licensePlate, PENDING_LEVEL);
+        return result != null ? result : ParkingResult.failure(ParkingStatus.NO_AVAILABLE_SPACE,
+                "No available parking spaces for " + vehicle.getType());
+    }
+
+    /**
+     * Returns the levels that currently have a free space for the vehicle, in
+     * the order the routing policy prefers them.
+     */
+    private int[] routeOrder(Vehicle vehicle) {
+        int levelCount = levels.size();
+        int[] order = new int[levelCount];
+        int[] free = new int[levelCount];
+        int candidates = 0;
+        for (int level = 0; level < levelCount; level++) {
+            int levelFree = 0;
+            for (SpaceSize size : vehicle.getCompatibleSpaceSizes()) {
+                levelFree += levels.get(level).getAvailableSpaces(size);
+            }
+            if (levelFree == 0) {
+                continue;
+            }
+            // Candidates are appended in level order; least-loaded inserts by free count, keeping ties nearest first
+            int at = candidates;
+            if (routingPolicy == LevelRoutingPolicy.LEAST_LOADED) {
+                while (at > 0 && free[at - 1] < levelFree) {
+                    order[at] = order[at - 1];
+                    free[at] = free[at - 1];
+                    at--;
+                }
+            }
+            order[at] = level;
+            free[at] = levelFree;
+            candidates++;
+        }
+        return Arrays.copyOf(order, candidates);
+    }
+
+    @Override
+    public Vehicle unparkVehicle(String ticketId) throws ParkingException {
+        ParkingResult<Vehicle> result = tryUnparkVehicle(ticketId);
+        if (!result.isSuccess()) {
+            throw new InvalidTicketException(result.getMessage());
+        }
+        return result.getValue();
+    }
+
+    @Override
+    public ParkingResult<Vehicle> tryUnparkVehicle(String ticketId) {
+        long ticketNumber = ParkingTicket.parseTicketNumber(ticketId);
+        Integer level = ticketNumber >= 0 ? levelByTicket.remove(ticketNumber) : null;
+        if (level == null) {
+            return ParkingResult.failure(ParkingStatus.INVALID_TICKET, "Invalid ticket ID: " + ticketId);
+        }
+        ParkingResult<Vehicle> result = levels.get(level).tryUnparkVehicle(ticketId);
+        if (result.isSuccess()) {
+            levelByPlate.remove(result.getValue().getPlateKey(), level);
+        }
+        return result;
+    }
+
+    /**
+     * Parks each vehicle as {@link #parkVehicle(Vehicle)} would, reporting
+     * failures per vehicle.
+     *
+     * @return one result per vehicle, in the same order as the input
+     */
+    @Override
+    public List<ParkingResult<ParkingTicket>> parkVehicles(List<Vehicle> vehicles) {
+        if (vehicles == null) {
+            throw new IllegalArgumentException("Vehicles cannot be null");
+        }
+        List<ParkingResult<ParkingTicket>> results = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            results.add(tryParkVehicle(vehicle));
+        }
+        return results;
+    }
+
+    /**
+     * @return one result per ticket ID, in the same order as the input
+     */
+    @Override
+    public List<ParkingResult<Vehicle>> unparkVehicles(List<String> ticketIds) {
+        if (ticketIds == null) {
+            throw new IllegalArgumentException("Ticket IDs cannot be null");
+        }
+        List<ParkingResult<Vehicle>> results = new ArrayList<>(ticketIds.size());
+        for (String ticketId : ticketIds) {
+            results.add(tryUnparkVehicle(ticketId));
+        }
+        return results;
+    }
+
+    public void addEventListener(ParkingEventListener listener) {
+        for (ParkingLotService level : levels) {
+            level.addEventListener(listener);
+        }
+    }
+
+    public void removeEventListener(ParkingEventListener listener) {
+        for (ParkingLotService level : levels) {
+            level.removeEventListener(listener);
+        }
+    }
+
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    public ParkingLotService getLevel(int level) {
+        return levels.get(level);
+    }
+
+    /**
+     * Returns the index of the level holding the vehicle of an active ticket,
+     * or -1 if the ticket is not active.
+     */
+    public int getLevelOfTicket(String ticketId) {
+        long ticketNumber = ParkingTicket.parseTicketNumber(ticketId);
+        Integer level = ticketNumber >= 0 ? levelByTicket.get(ticketNumber) : null;
+        return level != null ? level : -1;
+    }
+
+    @Override
+    public Map<SpaceSize, Integer> getAvailableSpaces() {
+        Map<SpaceSize, Integer> available = new EnumMap<>(SpaceSize.class);
+        for (SpaceSize size : SpaceSize.values()) {
+            available.put(size, getAvailableSpaces(size));
+        }
+        return available;
+    }
+
+    @Override
+    public int getAvailableSpaces(SpaceSize size) {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        int available = 0;
+        for (ParkingLotService level : levels) {
+            available += level.getAvailableSpaces(size);
+        }
+        return available;
+    }
+
+    @Override
+    public boolean isFull() {
+        for (ParkingLotService level : levels) {
+            if (!level.isFull()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Vehicle findVehicleByLicensePlate(String licensePlate) {
+        if (licensePlate == null || licensePlate.isEmpty()) {
+            return null;
+        }
+        Integer level = levelByPlate.get(PlateKey.of(licensePlate));
+        return level != null && level != PENDING_LEVEL ? levels.get(level).findVehicleByLicensePlate(licensePlate) : null;
+    }
+
+    @Override
+    public List<Vehicle> getAllVehiclesOfType(VehicleType type) {
+        if (type == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(vehiclesByTypeViews.get(type));
+    }
+
+    @Override
+    public Collection<Vehicle> getVehiclesOfTypeView(VehicleType type) {
+        if (type == null) {
+            return Collections.emptySet();
+        }
+        return vehiclesByTypeViews.get(type);
+    }
+
+    @Override
+    public BigDecimal calculateParkingFee(String ticketId) throws ParkingException {
+        long ticketNumber = ParkingTicket.parseTicketNumber(ticketId);
+        Integer level = ticketNumber >= 0 ? levelByTicket.get(ticketNumber) : null;
+        if (level == null) {
+            throw new InvalidTicketException("Invalid ticket ID: " + ticketId);
+        }
+        return levels.get(level).calculateParkingFee(ticketId);
+    }
+
+    @Override
+    public int getTotalCapacity() {
+        int capacity = 0;
+        for (ParkingLotService level : levels) {
+            capacity += level.getTotalCapacity();
+        }
+        return capacity;
+    }
+
+    @Override
+    public int getOccupiedSpaces() {
+        int occupied = 0;
+        for (ParkingLotService level : levels) {
+            occupied += level.getOccupiedSpaces();
+        }
+        return occupied;
+    }
+
+    // Spaces held by reservations on any level; they count as neither free nor occupied
+    public int getHeldSpaces() {
+        int held = 0;
+        for (ParkingLotService level : levels) {
+            held += level.getHeldSpaces();
+        }
+        return held;
+    }
+
+    @Override
+    public double getOccupancyRate() {
+        int capacity = getTotalCapacity();
+        if (capacity == 0) {
+            return 0.0;
+        }
+        return getOccupiedSpaces() * 100.0 / capacity;
+    }
+
+    // Unmodifiable live view over every level's vehicles of one type
+    private final class LevelsView extends AbstractCollection<Vehicle> {
+        private final VehicleType type;
+
+        LevelsView(VehicleType type) {
+            this.type = type;
+        }
+
+        @Override
+        public Iterator<Vehicle> iterator() {
+            return levels.stream().flatMap(level -> level.getVehiclesOfTypeView(type).stream()).iterator();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (ParkingLotService level : levels) {
+                size += level.getVehiclesOfTypeView(type).size();
+            }
+            return size;
+        }
+    }
+}
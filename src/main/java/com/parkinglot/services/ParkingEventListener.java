@@ -0,0 +1,23 @@
+package com.parkinglot.services;
+
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+
+/**
+ * Receives every park and unpark handled by a {@link ParkingLotService}.
+ * Callbacks run synchronously on the gate thread, so implementations must be
+ * thread-safe, fast and should not throw; a listener that does is counted
+ * and skipped, and the park or unpark still succeeds. A park is reported
+ * right after the vehicle has its space; an unpark just before the space and
+ * license plate are released, so the events of any one space or plate arrive
+ * in the order they happened. Recovery through {@code recover*} methods is
+ * not reported.
+ */
+public interface ParkingEventListener {
+    void onVehicleParked(ParkingTicket ticket, Vehicle vehicle);
+
+    /**
+     * @param feeCents the fee charged for the session, in cents
+     */
+    void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents);
+}
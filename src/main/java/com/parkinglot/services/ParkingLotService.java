@@ -1,134 +1,1146 @@
 package com.parkinglot.services;
 
+import com.parkinglot.enums.ParkingStatus;
 import com.parkinglot.enums.SpaceSize;
 import com.parkinglot.enums.VehicleType;
-import com.parkinglot.exceptions.NotImplementedException;
+import com.parkinglot.exceptions.InvalidTicketException;
+import com.parkinglot.exceptions.NoAvailableSpaceException;
 import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.exceptions.SpaceOccupiedException;
+import com.parkinglot.models.ParkingResult;
 import com.parkinglot.models.ParkingSpace;
 import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.PlateKey;
+import com.parkinglot.models.Reservation;
 import com.parkinglot.models.Vehicle;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
+/**
+ * Parking lot that is safe to share between concurrent entry and exit gates.
+ * Space state is guarded by lock-striped {@link SpacePool} segments per size,
+ * and the ticket and license plate registries are concurrent maps, so there
+ * is no lot-wide lock on the park and unpark paths.
+ *
+ * <p>Spaces can be reserved for a license plate for a limited time. Holds
+ * expire through a {@link TimingWheel}, advanced whenever the lot parks a
+ * vehicle, takes a reservation or counts its free spaces, so the lot needs
+ * no timer thread and expiring a hold never scans the others.
+ *
+ * <p>Arrivals that find the lot full can wait for a space instead of
+ * retrying. Waiting vehicles queue first-come, first-served; an unpark hands
+ * its space straight to the longest-waiting vehicle that fits it, so no
+ * other arrival can take the space in between.
+ */
 public class ParkingLotService implements IParkingLotService {
-    private final Map<SpaceSize, List<ParkingSpace>> spaces;
-    private final Map<String, ParkingTicket> activeTickets;
-    private final Map<VehicleType, BigDecimal> hourlyRates;
-    private int ticketCounter;
+    // Holds a license plate in the index while its vehicle is still being assigned a space
+    private static final ParkingTicket PENDING_TICKET = new ParkingTicket(0, "PENDING", "PENDING", LocalDateTime.MIN);
+    // Results for a vehicle turned away by a full lot, indexed by VehicleType ordinal
+    private static final List<ParkingResult<ParkingTicket>> NO_SPACE_RESULTS = noSpaceResults();
+    // Resolution of reservation deadlines
+    private static final long RESERVATION_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // Longest wait that still fits in nanoseconds; longer timeouts wait this long
+    private static final Duration MAX_WAIT = Duration.ofNanos(Long.MAX_VALUE);
+    // Ends waits that time out; shared by every lot, and a wait that ends first takes its task off the queue
+    private static final ScheduledThreadPoolExecutor WAIT_TIMEOUTS = waitTimeoutScheduler();
+
+    private final Map<SpaceSize, SpacePool> spacePools;
+    // Keyed by ticket number so IDs are only rendered as strings when a caller reads them
+    private final Map<Long, ParkingTicket> activeTickets;
+    // Keyed by packed plate, so duplicate checks and lookups hash and compare two longs
+    private final Map<PlateKey, ParkingTicket> ticketsByLicensePlate;
+    private final Map<VehicleType, Set<Vehicle>> vehiclesByType;
+    private final Map<VehicleType, Collection<Vehicle>> vehiclesByTypeViews;
+    // Hourly rates in cents, indexed by VehicleType ordinal
+    private final long[] hourlyRateCents;
+    private final TicketIdGenerator ticketIdGenerator;
+    private final List<ParkingEventListener> eventListeners;
+    // Listener calls that threw; the failing listener is skipped and the others still see the event
+    private final LongAdder listenerFailures;
+    // Holds by plate. Whoever removes an entry, the arriving vehicle or the expiry, ends that hold;
+    // entries are only added while holding reservationLock.
+    private final Map<PlateKey, TimingWheel.Timer<Reservation>> reservationsByPlate;
+    private final ReentrantLock reservationLock;
+    // Guarded by reservationLock
+    private final TimingWheel<Reservation> reservationExpiry;
+    // Waiting vehicles in arrival order, one queue per vehicle type and so per set of compatible sizes
+    private final List<ArrayDeque<Waiter>> waitersByType;
+    private final ReentrantLock waitlistLock;
+    // Written under waitlistLock; read without it so unparks only lock when someone is waiting
+    private volatile int waiterCount;
+    // Guarded by waitlistLock
+    private long nextWaiterSequence;
+    private int totalCapacity;
 
     public ParkingLotService(int smallSpaces, int mediumSpaces, int largeSpaces) {
-        this.spaces = new HashMap<>();
-        this.activeTickets = new HashMap<>();
-        this.ticketCounter = 1000;
-        
-        // Initialize hourly rates
-        this.hourlyRates = new HashMap<>();
-        hourlyRates.put(VehicleType.MOTORCYCLE, new BigDecimal("2.00"));
-        hourlyRates.put(VehicleType.CAR, new BigDecimal("4.00"));
-        hourlyRates.put(VehicleType.TRUCK, new BigDecimal("6.50"));
-
-        // TODO: Initialize parking spaces based on the provided counts
+        this(smallSpaces, mediumSpaces, largeSpaces, new TicketIdGenerator());
+    }
+
+    public ParkingLotService(int smallSpaces, int mediumSpaces, int largeSpaces, TicketIdGenerator ticketIdGenerator) {
+        if (ticketIdGenerator == null) {
+            throw new IllegalArgumentException("Ticket ID generator cannot be null");
+        }
+        this.spacePools = new EnumMap<>(SpaceSize.class);
+        this.activeTickets = new ConcurrentHashMap<>();
+        this.ticketsByLicensePlate = new ConcurrentHashMap<>();
+        this.vehiclesByType = new EnumMap<>(VehicleType.class);
+        this.vehiclesByTypeViews = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            Set<Vehicle> vehicles = ConcurrentHashMap.newKeySet();
+            vehiclesByType.put(type, vehicles);
+            vehiclesByTypeViews.put(type, Collections.unmodifiableSet(vehicles));
+        }
+        this.ticketIdGenerator = ticketIdGenerator;
+        this.eventListeners = new CopyOnWriteArrayList<>();
+        this.listenerFailures = new LongAdder();
+        this.reservationsByPlate = new ConcurrentHashMap<>();
+        this.reservationLock = new ReentrantLock();
+        this.reservationExpiry = new TimingWheel<>(RESERVATION_TICK_NANOS, System.nanoTime());
+        this.waitersByType = new ArrayList<>();
+        for (int i = 0; i < VehicleType.values().length; i++) {
+            waitersByType.add(new ArrayDeque<>());
+        }
+        this.waitlistLock = new ReentrantLock();
+
+        // Initialize hourly rates: $2.00, $4.00 and $6.50
+        this.hourlyRateCents = new long[VehicleType.values().length];
+        hourlyRateCents[VehicleType.MOTORCYCLE.ordinal()] = 200;
+        hourlyRateCents[VehicleType.CAR.ordinal()] = 400;
+        hourlyRateCents[VehicleType.TRUCK.ordinal()] = 650;
+
         initializeParkingSpaces(smallSpaces, mediumSpaces, largeSpaces);
     }
 
+    private static List<ParkingResult<ParkingTicket>> noSpaceResults() {
+        List<ParkingResult<ParkingTicket>> results = new ArrayList<>();
+        for (VehicleType type : VehicleType.values()) {
+            results.add(ParkingResult.failure(ParkingStatus.NO_AVAILABLE_SPACE, "No available parking spaces for " + type));
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private static ScheduledThreadPoolExecutor waitTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "parking-lot-wait-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
     private void initializeParkingSpaces(int smallSpaces, int mediumSpaces, int largeSpaces) {
-        // TODO: Create parking spaces for each size category
+        if (smallSpaces < 0 || mediumSpaces < 0 || largeSpaces < 0) {
+            throw new IllegalArgumentException("Number of parking spaces cannot be negative");
+        }
         // Small spaces: S001, S002, etc.
         // Medium spaces: M001, M002, etc.
         // Large spaces: L001, L002, etc.
-        throw new NotImplementedException();
+        createSpaces(SpaceSize.SMALL, smallSpaces);
+        createSpaces(SpaceSize.MEDIUM, mediumSpaces);
+        createSpaces(SpaceSize.LARGE, largeSpaces);
+    }
+
+    // Spaces exist only as slots of their size's pool; IDs and ParkingSpace views are made on demand
+    private void createSpaces(SpaceSize size, int count) {
+        spacePools.put(size, new SpacePool(size, count));
+        totalCapacity += count;
     }
 
     @Override
     public ParkingTicket parkVehicle(Vehicle vehicle) throws ParkingException {
-        // TODO: Implement parking logic
-        // 1. Validate input
-        // 2. Find an available space that can fit the vehicle
-        // 3. Park the vehicle in the space
-        // 4. Create and return a parking ticket
-        // 5. Store the ticket in _activeTickets
-        throw new NotImplementedException();
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Vehicle cannot be null");
+        }
+        ParkingResult<ParkingTicket> result = tryParkVehicle(vehicle);
+        switch (result.getStatus()) {
+            case SUCCESS:
+                return result.getValue();
+            case NO_AVAILABLE_SPACE:
+                throw new NoAvailableSpaceException(vehicle.getType().toString());
+            default:
+                throw new ParkingException(result.getMessage());
+        }
+    }
+
+    /**
+     * Parks a vehicle like {@link #parkVehicle(Vehicle)}, but reports a full
+     * lot or a duplicate plate as a failed result instead of throwing. A full
+     * lot gets a shared result, so turning a vehicle away allocates nothing.
+     */
+    @Override
+    public ParkingResult<ParkingTicket> tryParkVehicle(Vehicle vehicle) {
+        if (vehicle == null) {
+            return ParkingResult.failure(ParkingStatus.INVALID_VEHICLE, "Vehicle cannot be null");
+        }
+        expireReservations();
+        // Claiming the plate in the index doubles as the duplicate check and closes the race
+        // between two gates admitting the same vehicle
+        PlateKey licensePlate = vehicle.getPlateKey();
+        if (ticketsByLicensePlate.putIfAbsent(licensePlate, PENDING_TICKET) != null) {
+            return ParkingResult.failure(ParkingStatus.ALREADY_PARKED,
+                    "Vehicle with license plate " + licensePlate + " is already parked");
+        }
+
+        String spaceId;
+        try {
+            spaceId = claimReservedSpace(vehicle);
+            if (spaceId == null) {
+                spaceId = findAvailableSpace(vehicle);
+            }
+        } catch (RuntimeException e) {
+            ticketsByLicensePlate.remove(licensePlate, PENDING_TICKET);
+            throw e;
+        }
+        if (spaceId == null) {
+            ticketsByLicensePlate.remove(licensePlate, PENDING_TICKET);
+            return NO_SPACE_RESULTS.get(vehicle.getType().ordinal());
+        }
+
+        return ParkingResult.success(issueTicket(vehicle, spaceId, ticketIdGenerator.next(), LocalDateTime.now()));
+    }
+
+    /**
+     * Parks a vehicle, waiting up to the timeout for a space when the lot is
+     * full. A space freed while the vehicle waits is handed to it directly,
+     * in the order the waiting vehicles arrived.
+     *
+     * @throws NoAvailableSpaceException if no space became free in time
+     * @throws InterruptedException if interrupted while waiting; the vehicle
+     * then leaves the queue without a space. If the wait had already ended,
+     * its outcome is reported instead and the interrupt flag is kept.
+     */
+    public ParkingTicket parkVehicle(Vehicle vehicle, Duration timeout) throws ParkingException, InterruptedException {
+        Waiter waiter = parkOrWait(vehicle, timeout);
+        try {
+            return waiter.ticket.get();
+        } catch (InterruptedException e) {
+            if (withdraw(waiter)) {
+                throw e;
+            }
+            // A space was handed over or the wait timed out first; report that and keep the interrupt
+            Thread.currentThread().interrupt();
+            try {
+                return waiter.ticket.join();
+            } catch (CompletionException failure) {
+                return rethrow(failure.getCause());
+            }
+        } catch (ExecutionException e) {
+            return rethrow(e.getCause());
+        }
+    }
+
+    // Throws the failure a waiter's future completed with
+    private static ParkingTicket rethrow(Throwable failure) throws ParkingException {
+        if (failure instanceof ParkingException) {
+            throw (ParkingException) failure;
+        }
+        throw new IllegalStateException("Parking failed", failure);
+    }
+
+    /**
+     * Asynchronous form of {@link #parkVehicle(Vehicle, Duration)}. The future
+     * fails with {@link NoAvailableSpaceException} when the timeout passes.
+     * Cancelling it takes the vehicle out of the queue; if a space was handed
+     * over first, the vehicle stays parked and can be found by its plate.
+     */
+    public CompletableFuture<ParkingTicket> parkVehicleAsync(Vehicle vehicle, Duration timeout) {
+        Waiter waiter = parkOrWait(vehicle, timeout);
+        CompletableFuture<ParkingTicket> result = waiter.ticket.thenApply(Function.identity());
+        result.whenComplete((ticket, error) -> {
+            if (result.isCancelled()) {
+                withdraw(waiter);
+            }
+        });
+        return result;
+    }
+
+    public int getWaitingVehicleCount() {
+        return waiterCount;
+    }
+
+    // Parks the vehicle now if it can, otherwise queues it with a timeout; the waiter's future reports the outcome
+    private Waiter parkOrWait(Vehicle vehicle, Duration timeout) {
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Vehicle cannot be null");
+        }
+        if (timeout == null) {
+            throw new IllegalArgumentException("Timeout cannot be null");
+        }
+        Waiter waiter = new Waiter(vehicle);
+        expireReservations();
+        PlateKey licensePlate = vehicle.getPlateKey();
+        // The plate stays claimed while the vehicle waits, so it cannot be parked or queued twice
+        if (ticketsByLicensePlate.putIfAbsent(licensePlate, PENDING_TICKET) != null) {
+            waiter.ticket.completeExceptionally(
+                    new ParkingException("Vehicle with license plate " + licensePlate + " is already parked"));
+            return waiter;
+        }
+
+        String spaceId;
+        boolean waiting = false;
+        try {
+            spaceId = claimReservedSpace(vehicle);
+            if (spaceId == null) {
+                spaceId = findAvailableSpace(vehicle);
+            }
+            if (spaceId == null && !timeout.isNegative() && !timeout.isZero()) {
+                spaceId = joinWaitlist(waiter);
+                waiting = spaceId == null;
+            }
+        } catch (RuntimeException e) {
+            ticketsByLicensePlate.remove(licensePlate, PENDING_TICKET);
+            throw e;
+        }
+        if (spaceId != null) {
+            waiter.ticket.complete(issueTicket(vehicle, spaceId, ticketIdGenerator.next(), LocalDateTime.now()));
+        } else if (waiting) {
+            long timeoutNanos = timeout.compareTo(MAX_WAIT) < 0 ? timeout.toNanos() : Long.MAX_VALUE;
+            waiter.timeout = WAIT_TIMEOUTS.schedule(() -> withdraw(waiter), timeoutNanos, TimeUnit.NANOSECONDS);
+            // A space handed over before the timeout was stored could not cancel it
+            if (waiter.ticket.isDone()) {
+                waiter.cancelTimeout();
+            }
+        } else {
+            ticketsByLicensePlate.remove(licensePlate, PENDING_TICKET);
+            waiter.ticket.completeExceptionally(new NoAvailableSpaceException(vehicle.getType().toString()));
+        }
+        return waiter;
+    }
+
+    /**
+     * Queues the waiter, then takes one last look for a free space. Joining
+     * first means a space freed at the same moment is either seen here or
+     * handed to this waiter by the unpark that freed it.
+     *
+     * @return a space found on the last look, with the waiter taken back out
+     * of the queue, or null if the waiter is now queued
+     */
+    private String joinWaitlist(Waiter waiter) {
+        ArrayDeque<Waiter> queue = waitersByType.get(waiter.vehicle.getType().ordinal());
+        waitlistLock.lock();
+        try {
+            waiter.sequence = nextWaiterSequence++;
+            queue.addLast(waiter);
+            waiterCount++;
+            String spaceId = findAvailableSpace(waiter.vehicle);
+            if (spaceId != null) {
+                queue.removeLast();
+                waiterCount--;
+            }
+            return spaceId;
+        } finally {
+            waitlistLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a waiter out of the queue and fails its future.
+     *
+     * @return false if the waiter had already been given a space
+     */
+    private boolean withdraw(Waiter waiter) {
+        waitlistLock.lock();
+        try {
+            if (!waitersByType.get(waiter.vehicle.getType().ordinal()).remove(waiter)) {
+                return false;
+            }
+            waiterCount--;
+        } finally {
+            waitlistLock.unlock();
+        }
+        ticketsByLicensePlate.remove(waiter.vehicle.getPlateKey(), PENDING_TICKET);
+        waiter.ticket.completeExceptionally(new NoAvailableSpaceException(waiter.vehicle.getType().toString()));
+        waiter.cancelTimeout();
+        return true;
+    }
+
+    // Gives a held space to the longest-waiting vehicle that fits it, or frees it if none does
+    private void handOverSpace(String spaceId) {
+        SpaceSize size = SpaceIds.sizeOf(spaceId);
+        SpacePool pool = spacePools.get(size);
+        int slot = SpaceIds.slotOf(spaceId);
+        Waiter next = null;
+        waitlistLock.lock();
+        try {
+            for (ArrayDeque<Waiter> queue : waitersByType) {
+                Waiter head = queue.peekFirst();
+                if (head != null && head.vehicle.getCompatibleSpaceSizes().contains(size)
+                        && (next == null || head.sequence < next.sequence)) {
+                    next = head;
+                }
+            }
+            if (next == null) {
+                // Released under the lock so a vehicle about to queue sees the space on its last look
+                pool.releaseHold(slot);
+                return;
+            }
+            waitersByType.get(next.vehicle.getType().ordinal()).removeFirst();
+            waiterCount--;
+            pool.parkHeld(slot, next.vehicle);
+        } finally {
+            waitlistLock.unlock();
+        }
+        admit(next, spaceId);
+    }
+
+    // Parks waiting vehicles in free spaces, for spaces freed while nobody was waiting yet
+    private void serveWaiters() {
+        List<Waiter> served = new ArrayList<>();
+        waitlistLock.lock();
+        try {
+            for (ArrayDeque<Waiter> queue : waitersByType) {
+                Waiter head;
+                while ((head = queue.peekFirst()) != null && (head.spaceId = findAvailableSpace(head.vehicle)) != null) {
+                    queue.removeFirst();
+                    waiterCount--;
+                    served.add(head);
+                }
+            }
+        } finally {
+            waitlistLock.unlock();
+        }
+        for (Waiter waiter : served) {
+            admit(waiter, waiter.spaceId);
+        }
+    }
+
+    // Tickets a waiter taken off the queue into the given space. Its future is completed whatever
+    // issuing throws, since the waiter can no longer time out, and the unpark that freed the space
+    // has already succeeded.
+    private void admit(Waiter waiter, String spaceId) {
+        try {
+            waiter.ticket.complete(issueTicket(waiter.vehicle, spaceId, ticketIdGenerator.next(), LocalDateTime.now()));
+        } catch (Throwable e) {
+            waiter.ticket.completeExceptionally(e);
+        } finally {
+            waiter.cancelTimeout();
+        }
     }
 
     @Override
     public Vehicle unparkVehicle(String ticketId) throws ParkingException {
-        // TODO: Implement unparking logic
-        // 1. Validate ticket exists
-        // 2. Find the parked vehicle and space
-        // 3. Remove vehicle from space
-        // 4. Mark ticket as completed (set exit time)
-        // 5. Remove ticket from _activeTickets
-        // 6. Return the vehicle
-        throw new NotImplementedException();
+        ParkingResult<Vehicle> result = tryUnparkVehicle(ticketId);
+        if (!result.isSuccess()) {
+            throw new InvalidTicketException(result.getMessage());
+        }
+        return result.getValue();
+    }
+
+    // Lets a vehicle out like unparkVehicle, but reports an unknown ticket as a failed result instead of throwing
+    @Override
+    public ParkingResult<Vehicle> tryUnparkVehicle(String ticketId) {
+        return tryUnpark(ticketId, LocalDateTime.now());
+    }
+
+    private ParkingResult<Vehicle> tryUnpark(String ticketId, LocalDateTime exitTime) {
+        // Removing the ticket up front means only one exit gate can ever redeem it
+        long ticketNumber = ParkingTicket.parseTicketNumber(ticketId);
+        ParkingTicket ticket = ticketNumber >= 0 ? activeTickets.remove(ticketNumber) : null;
+        if (ticket == null) {
+            return ParkingResult.failure(ParkingStatus.INVALID_TICKET, "Invalid ticket ID: " + ticketId);
+        }
+        try {
+            return ParkingResult.success(redeemTicket(ticket, exitTime));
+        } catch (ParkingException e) {
+            return ParkingResult.failure(ParkingStatus.INVALID_TICKET, e.getMessage());
+        }
+    }
+
+    /**
+     * Parks a group of vehicles arriving together, e.g. a shuttle bus or a
+     * convoy. Spaces are claimed per size with one lock acquisition per
+     * segment, ticket numbers are reserved as one block, and every vehicle
+     * gets its own result instead of the batch failing on the first problem.
+     * Vehicles are placed exactly as if parked one at a time in list order.
+     *
+     * @return one result per vehicle, in the same order as the input
+     */
+    @Override
+    public List<ParkingResult<ParkingTicket>> parkVehicles(List<Vehicle> vehicles) {
+        if (vehicles == null) {
+            throw new IllegalArgumentException("Vehicles cannot be null");
+        }
+        expireReservations();
+        int count = vehicles.size();
+        Vehicle[] pending = new Vehicle[count];
+        List<ParkingResult<ParkingTicket>> results = new ArrayList<>(Collections.nCopies(count, null));
+        SpaceSize[] assignedSizes = new SpaceSize[count];
+        int[] assignedSlots = new int[count];
+        int parked = 0;
+
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = vehicles.get(i);
+            if (vehicle == null) {
+                results.set(i, ParkingResult.failure(ParkingStatus.INVALID_VEHICLE, "Vehicle cannot be null"));
+            } else if (ticketsByLicensePlate.putIfAbsent(vehicle.getPlateKey(), PENDING_TICKET) != null) {
+                results.set(i, ParkingResult.failure(ParkingStatus.ALREADY_PARKED,
+                        "Vehicle with license plate " + vehicle.getLicensePlate() + " is already parked"));
+            } else {
+                pending[i] = vehicle;
+                String reservedSpaceId = claimReservedSpace(vehicle);
+                if (reservedSpaceId != null) {
+                    assignedSizes[i] = SpaceIds.sizeOf(reservedSpaceId);
+                    assignedSlots[i] = SpaceIds.slotOf(reservedSpaceId);
+                    parked++;
+                }
+            }
+        }
+
+        // Smallest sizes first, so each vehicle still lands in its smallest compatible size
+        for (SpaceSize size : SpaceSize.values()) {
+            parked += spacePools.get(size).parkAll(pending, assignedSizes, assignedSlots);
+        }
+
+        long ticketNumber = parked > 0 ? ticketIdGenerator.reserve(parked) : 0;
+        LocalDateTime entryTime = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = pending[i];
+            if (vehicle == null) {
+                continue;
+            }
+            if (assignedSizes[i] != null) {
+                String spaceId = SpaceIds.format(assignedSizes[i], assignedSlots[i]);
+                results.set(i, ParkingResult.success(issueTicket(vehicle, spaceId, ticketNumber++, entryTime)));
+            } else {
+                ticketsByLicensePlate.remove(vehicle.getPlateKey(), PENDING_TICKET);
+                results.set(i, NO_SPACE_RESULTS.get(vehicle.getType().ordinal()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Lets a group of vehicles out with a single clock read. Every ticket gets
+     * its own result; unknown or already redeemed tickets do not affect the rest.
+     *
+     * @return one result per ticket ID, in the same order as the input
+     */
+    @Override
+    public List<ParkingResult<Vehicle>> unparkVehicles(List<String> ticketIds) {
+        if (ticketIds == null) {
+            throw new IllegalArgumentException("Ticket IDs cannot be null");
+        }
+        List<ParkingResult<Vehicle>> results = new ArrayList<>(ticketIds.size());
+        LocalDateTime exitTime = LocalDateTime.now();
+        for (String ticketId : ticketIds) {
+            results.add(tryUnpark(ticketId, exitTime));
+        }
+        return results;
+    }
+
+    public void addEventListener(ParkingEventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        eventListeners.add(listener);
+    }
+
+    public void removeEventListener(ParkingEventListener listener) {
+        eventListeners.remove(listener);
+    }
+
+    /**
+     * Returns how many listener calls have thrown. A listener that throws
+     * does not fail the park or unpark it was told about, and the listeners
+     * after it are still called.
+     */
+    public long getListenerFailureCount() {
+        return listenerFailures.sum();
+    }
+
+    /**
+     * Holds a free space of the given size for a license plate. The space
+     * stops counting as available at once, and when the vehicle with that
+     * plate arrives within the hold it is parked there. Otherwise the space
+     * is freed again once the hold runs out.
+     */
+    public Reservation reserveSpace(String licensePlate, SpaceSize size, Duration holdFor) throws ParkingException {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        return reserve(licensePlate, size, -1, holdFor);
+    }
+
+    /**
+     * Holds one specific free space for a license plate, see
+     * {@link #reserveSpace(String, SpaceSize, Duration)}.
+     */
+    public Reservation reserveSpace(String licensePlate, String spaceId, Duration holdFor) throws ParkingException {
+        if (poolOf(spaceId) == null) {
+            throw new ParkingException("Parking space " + spaceId + " does not exist");
+        }
+        return reserve(licensePlate, SpaceIds.sizeOf(spaceId), SpaceIds.slotOf(spaceId), holdFor);
+    }
+
+    // Holds the given slot, or any free slot of the size when slot is -1
+    private Reservation reserve(String licensePlate, SpaceSize size, int slot, Duration holdFor) throws ParkingException {
+        if (licensePlate == null || licensePlate.isEmpty()) {
+            throw new IllegalArgumentException("License plate cannot be null or empty");
+        }
+        if (holdFor == null || holdFor.isNegative() || holdFor.isZero()) {
+            throw new IllegalArgumentException("Hold duration must be positive");
+        }
+        PlateKey plateKey = PlateKey.of(licensePlate);
+        expireReservations();
+        SpacePool pool = spacePools.get(size);
+        TimingWheel.Timer<Reservation> timer;
+        reservationLock.lock();
+        try {
+            if (ticketsByLicensePlate.containsKey(plateKey)) {
+                throw new ParkingException("Vehicle with license plate " + licensePlate + " is already parked");
+            }
+            if (reservationsByPlate.containsKey(plateKey)) {
+                throw new ParkingException("License plate " + licensePlate + " already has a reservation");
+            }
+            if (slot < 0) {
+                slot = pool.hold();
+                if (slot < 0) {
+                    throw new NoAvailableSpaceException(size.toString());
+                }
+            } else if (!pool.holdAt(slot)) {
+                throw new SpaceOccupiedException("Parking space " + SpaceIds.format(size, slot) + " is not available");
+            }
+            long deadline = System.nanoTime() + holdFor.toNanos();
+            Reservation reservation = new Reservation(plateKey, SpaceIds.format(size, slot), LocalDateTime.now().plus(holdFor));
+            timer = reservationExpiry.schedule(reservation, deadline);
+            reservationsByPlate.put(plateKey, timer);
+            // Gates park without this lock, so one may have claimed the plate after the check above and
+            // missed the hold; take the hold back unless that vehicle already parked in it
+            if (!ticketsByLicensePlate.containsKey(plateKey) || !reservationsByPlate.remove(plateKey, timer)) {
+                return reservation;
+            }
+            reservationExpiry.cancel(timer);
+        } finally {
+            reservationLock.unlock();
+        }
+        releaseHold(timer.getValue());
+        throw new ParkingException("Vehicle with license plate " + licensePlate + " is already parked");
+    }
+
+    /**
+     * Ends the hold of a license plate's reservation and frees its space.
+     *
+     * @return false if the plate has no active reservation
+     */
+    public boolean cancelReservation(String licensePlate) {
+        if (licensePlate == null || licensePlate.isEmpty()) {
+            return false;
+        }
+        TimingWheel.Timer<Reservation> timer = reservationsByPlate.remove(PlateKey.of(licensePlate));
+        if (timer == null) {
+            return false;
+        }
+        cancelExpiry(timer);
+        releaseHold(timer.getValue());
+        return true;
+    }
+
+    // Returns the active reservation of a license plate, or null if it has none
+    public Reservation findReservation(String licensePlate) {
+        if (licensePlate == null || licensePlate.isEmpty()) {
+            return null;
+        }
+        expireReservations();
+        TimingWheel.Timer<Reservation> timer = reservationsByPlate.get(PlateKey.of(licensePlate));
+        return timer != null ? timer.getValue() : null;
+    }
+
+    /**
+     * Frees the spaces of every reservation whose hold has run out. The lot
+     * runs this itself before parking and before counting free spaces, so
+     * callers never need to; it is skipped while another thread is already
+     * expiring reservations.
+     *
+     * @return the number of reservations that expired
+     */
+    public int expireReservations() {
+        if (reservationsByPlate.isEmpty() || !reservationLock.tryLock()) {
+            return 0;
+        }
+        int expired;
+        try {
+            expired = reservationExpiry.advanceTo(System.nanoTime(), timer -> {
+                // A vehicle that claimed the hold first has already removed the entry
+                if (reservationsByPlate.remove(timer.getValue().getPlateKey(), timer)) {
+                    String spaceId = timer.getValue().getSpaceId();
+                    spacePools.get(SpaceIds.sizeOf(spaceId)).releaseHold(SpaceIds.slotOf(spaceId));
+                }
+            });
+        } finally {
+            reservationLock.unlock();
+        }
+        if (expired > 0 && waiterCount > 0) {
+            serveWaiters();
+        }
+        return expired;
+    }
+
+    /**
+     * Parks the vehicle in the space held for its plate, if there is one.
+     * A held space the vehicle does not fit is freed instead.
+     *
+     * @return the ID of the reserved space, or null if the vehicle was not parked in one
+     */
+    private String claimReservedSpace(Vehicle vehicle) {
+        if (reservationsByPlate.isEmpty()) {
+            return null;
+        }
+        TimingWheel.Timer<Reservation> timer = reservationsByPlate.remove(vehicle.getPlateKey());
+        if (timer == null) {
+            return null;
+        }
+        cancelExpiry(timer);
+        String spaceId = timer.getValue().getSpaceId();
+        SpaceSize size = SpaceIds.sizeOf(spaceId);
+        if (vehicle.getCompatibleSpaceSizes().contains(size)
+                && spacePools.get(size).parkHeld(SpaceIds.slotOf(spaceId), vehicle)) {
+            return spaceId;
+        }
+        releaseHold(timer.getValue());
+        return null;
+    }
+
+    private void cancelExpiry(TimingWheel.Timer<Reservation> timer) {
+        reservationLock.lock();
+        try {
+            reservationExpiry.cancel(timer);
+        } finally {
+            reservationLock.unlock();
+        }
+    }
+
+    private void releaseHold(Reservation reservation) {
+        String spaceId = reservation.getSpaceId();
+        spacePools.get(SpaceIds.sizeOf(spaceId)).releaseHold(SpaceIds.slotOf(spaceId));
+        if (waiterCount > 0) {
+            serveWaiters();
+        }
+    }
+
+    public TicketIdGenerator getTicketIdGenerator() {
+        return ticketIdGenerator;
+    }
+
+    /**
+     * Visits every active ticket together with its parked vehicle without
+     * pausing the gates, e.g. to take a snapshot. Tickets issued or redeemed
+     * while the visit runs may or may not be seen.
+     */
+    public void forEachActiveTicket(BiConsumer<ParkingTicket, Vehicle> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        for (ParkingTicket ticket : activeTickets.values()) {
+            Vehicle vehicle = findParkedVehicle(ticket);
+            if (vehicle != null) {
+                action.accept(ticket, vehicle);
+            }
+        }
+    }
+
+    /**
+     * Puts a vehicle back into the exact space recorded on its ticket, e.g.
+     * while replaying a journal or loading a snapshot after a restart. The
+     * ticket number sequence is moved past the restored ticket. Event
+     * listeners are not notified.
+     *
+     * @return false if the ticket is already active, or if a later ticket
+     * already holds its space or license plate, i.e. the vehicle has since
+     * left. Replaying an event the lot already reflects is then harmless,
+     * even from a snapshot taken while the gates kept working.
+     */
+    public boolean recoverParkedVehicle(ParkingTicket ticket, Vehicle vehicle) throws ParkingException {
+        if (ticket == null || vehicle == null) {
+            throw new IllegalArgumentException("Ticket and vehicle cannot be null");
+        }
+        if (ticket.getTicketNumber() < 0) {
+            throw new InvalidTicketException("Ticket " + ticket.getTicketId() + " has no ticket number");
+        }
+        if (!ticket.getPlateKey().equals(vehicle.getPlateKey())) {
+            throw new InvalidTicketException("Ticket " + ticket.getTicketId() + " belongs to another vehicle");
+        }
+        if (activeTickets.containsKey(ticket.getTicketNumber())) {
+            return false;
+        }
+        String spaceId = ticket.getSpaceId();
+        SpacePool pool = poolOf(spaceId);
+        if (pool == null) {
+            throw new InvalidTicketException("Ticket " + ticket.getTicketId() + " refers to unknown space " + spaceId);
+        }
+        if (isSuperseded(ticket, pool)) {
+            return false;
+        }
+        PlateKey licensePlate = vehicle.getPlateKey();
+        if (ticketsByLicensePlate.putIfAbsent(licensePlate, PENDING_TICKET) != null) {
+            throw new ParkingException("Vehicle with license plate " + licensePlate + " is already parked");
+        }
+        try {
+            if (!pool.parkAt(SpaceIds.slotOf(spaceId), vehicle)) {
+                throw new SpaceOccupiedException("Parking space " + spaceId + " is already occupied");
+            }
+        } catch (ParkingException | RuntimeException e) {
+            ticketsByLicensePlate.remove(licensePlate, PENDING_TICKET);
+            throw e;
+        }
+        registerTicket(ticket, vehicle);
+        ticketIdGenerator.advanceTo(ticket.getTicketNumber());
+        return true;
+    }
+
+    // Ticket numbers are issued after the space and plate are claimed, so a higher number
+    // holding either one means this ticket's vehicle had already left
+    private boolean isSuperseded(ParkingTicket ticket, SpacePool pool) {
+        ParkingTicket plateHolder = ticketsByLicensePlate.get(ticket.getPlateKey());
+        if (plateHolder != null && plateHolder.getTicketNumber() > ticket.getTicketNumber()) {
+            return true;
+        }
+        Vehicle occupant = pool.vehicleAt(SpaceIds.slotOf(ticket.getSpaceId()));
+        if (occupant == null) {
+            return false;
+        }
+        ParkingTicket spaceHolder = ticketsByLicensePlate.get(occupant.getPlateKey());
+        return spaceHolder != null && spaceHolder.getTicketNumber() > ticket.getTicketNumber();
+    }
+
+    /**
+     * Lets the vehicle of an active ticket out at a recorded exit time, e.g.
+     * while replaying a journal. Event listeners are not notified.
+     *
+     * @return the vehicle, or null if the ticket is not active
+     */
+    public Vehicle recoverUnparkedVehicle(long ticketNumber, LocalDateTime exitTime) throws ParkingException {
+        if (exitTime == null) {
+            throw new IllegalArgumentException("Exit time cannot be null");
+        }
+        ParkingTicket ticket = activeTickets.remove(ticketNumber);
+        return ticket != null ? releaseSpace(ticket, exitTime, false) : null;
+    }
+
+    // Registers a vehicle that has just been parked in the given space and returns its ticket
+    private ParkingTicket issueTicket(Vehicle vehicle, String spaceId, long ticketNumber, LocalDateTime entryTime) {
+        ParkingTicket ticket = new ParkingTicket(ticketNumber, vehicle.getPlateKey(), spaceId, entryTime);
+        registerTicket(ticket, vehicle);
+        for (ParkingEventListener listener : eventListeners) {
+            try {
+                listener.onVehicleParked(ticket, vehicle);
+            } catch (RuntimeException e) {
+                listenerFailures.increment();
+            }
+        }
+        return ticket;
+    }
+
+    private void registerTicket(ParkingTicket ticket, Vehicle vehicle) {
+        vehicle.setEntryTime(ticket.getEntryTime());
+        activeTickets.put(ticket.getTicketNumber(), ticket);
+        ticketsByLicensePlate.put(vehicle.getPlateKey(), ticket);
+        vehiclesByType.get(vehicle.getType()).add(vehicle);
+    }
+
+    // Lets the vehicle of a ticket already removed from activeTickets leave and reports the session
+    private Vehicle redeemTicket(ParkingTicket ticket, LocalDateTime exitTime) throws ParkingException {
+        ticket.markExit(exitTime);
+        if (!eventListeners.isEmpty()) {
+            try {
+                reportUnpark(ticket);
+            } catch (RuntimeException e) {
+                vacate(ticket, exitTime);
+                throw e;
+            }
+        }
+        return vacate(ticket, exitTime);
+    }
+
+    // Runs while the vehicle still has its space and plate, so listeners such as the journal
+    // always see this exit before a later arrival in the same space or with the same plate
+    private void reportUnpark(ParkingTicket ticket) {
+        Vehicle vehicle = findParkedVehicle(ticket);
+        if (vehicle == null) {
+            return;
+        }
+        long feeCents = ticket.calculateFeeCents(hourlyRateCents[vehicle.getType().ordinal()], ticket.getExitTime());
+        for (ParkingEventListener listener : eventListeners) {
+            try {
+                listener.onVehicleUnparked(ticket, vehicle, feeCents);
+            } catch (RuntimeException e) {
+                listenerFailures.increment();
+            }
+        }
+    }
+
+    // Frees the space of a redeemed ticket, or hands it straight to the longest-waiting vehicle that fits
+    private Vehicle vacate(ParkingTicket ticket, LocalDateTime exitTime) throws ParkingException {
+        boolean handOver = waiterCount > 0;
+        Vehicle vehicle = releaseSpace(ticket, exitTime, handOver);
+        if (handOver) {
+            handOverSpace(ticket.getSpaceId());
+        } else if (waiterCount > 0) {
+            // A vehicle started waiting while the space was being freed
+            serveWaiters();
+        }
+        return vehicle;
+    }
+
+    // Frees or holds the space of a ticket that has already been removed from activeTickets
+    private Vehicle releaseSpace(ParkingTicket ticket, LocalDateTime exitTime, boolean hold) throws ParkingException {
+        SpacePool pool = poolOf(ticket.getSpaceId());
+        if (pool == null) {
+            throw new InvalidTicketException("Ticket " + ticket.getTicketId() + " refers to unknown space " + ticket.getSpaceId());
+        }
+
+        int slot = SpaceIds.slotOf(ticket.getSpaceId());
+        Vehicle vehicle = hold ? pool.removeAndHold(slot) : pool.remove(slot);
+        ticket.markExit(exitTime);
+        vehiclesByType.get(vehicle.getType()).remove(vehicle);
+        ticketsByLicensePlate.remove(ticket.getPlateKey(), ticket);
+        return vehicle;
     }
 
     @Override
     public Map<SpaceSize, Integer> getAvailableSpaces() {
-        // TODO: Return count of available spaces for each size
-        throw new NotImplementedException();
+        Map<SpaceSize, Integer> available = new EnumMap<>(SpaceSize.class);
+        for (SpaceSize size : SpaceSize.values()) {
+            available.put(size, getAvailableSpaces(size));
+        }
+        return available;
+    }
+
+    @Override
+    public int getAvailableSpaces(SpaceSize size) {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        expireReservations();
+        return spacePools.get(size).freeCount();
     }
 
     @Override
     public boolean isFull() {
-        // TODO: Check if all spaces are occupied
-        throw new NotImplementedException();
+        expireReservations();
+        for (SpacePool pool : spacePools.values()) {
+            if (pool.freeCount() > 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public Vehicle findVehicleByLicensePlate(String licensePlate) {
-        // TODO: Search for a vehicle by license plate
-        throw new NotImplementedException();
+        if (licensePlate == null || licensePlate.isEmpty()) {
+            return null;
+        }
+        ParkingTicket ticket = ticketsByLicensePlate.get(PlateKey.of(licensePlate));
+        return ticket != null && ticket != PENDING_TICKET ? findParkedVehicle(ticket) : null;
     }
 
     @Override
     public List<Vehicle> getAllVehiclesOfType(VehicleType type) {
-        // TODO: Return all currently parked vehicles of the specified type
-        throw new NotImplementedException();
+        if (type == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(vehiclesByType.get(type));
+    }
+
+    @Override
+    public Collection<Vehicle> getVehiclesOfTypeView(VehicleType type) {
+        if (type == null) {
+            return Collections.emptySet();
+        }
+        return vehiclesByTypeViews.get(type);
     }
 
     @Override
     public BigDecimal calculateParkingFee(String ticketId) throws ParkingException {
-        // TODO: Calculate the parking fee for a given ticket
-        // Use the hourly rates defined in _hourlyRates
-        throw new NotImplementedException();
+        ParkingTicket ticket = getActiveTicket(ticketId);
+        Vehicle vehicle = findParkedVehicle(ticket);
+        if (vehicle == null) {
+            throw new InvalidTicketException("No parked vehicle found for ticket " + ticketId);
+        }
+        // Fees are computed in whole cents and only become a BigDecimal here
+        return ParkingTicket.centsToAmount(calculateParkingFeeCents(ticket, vehicle.getType()));
+    }
+
+    private long calculateParkingFeeCents(ParkingTicket ticket, VehicleType type) {
+        return ticket.calculateFeeCents(hourlyRateCents[type.ordinal()]);
     }
 
     @Override
     public int getTotalCapacity() {
-        // TODO: Return total number of parking spaces
-        throw new NotImplementedException();
+        return totalCapacity;
+    }
+
+    public int getCapacity(SpaceSize size) {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        return spacePools.get(size).capacity();
     }
 
+    /**
+     * Returns the size of the space with the given ID in O(1), or null if the
+     * ID does not name a space of this lot.
+     */
+    public SpaceSize getSpaceSize(String spaceId) {
+        return poolOf(spaceId) != null ? SpaceIds.sizeOf(spaceId) : null;
+    }
+
+    /**
+     * Returns a detached snapshot of the space with the given ID, or null if
+     * the ID does not name a space of this lot. Spaces are stored as slots,
+     * not objects, so every call builds a new {@link ParkingSpace}; changing
+     * it does not affect the lot.
+     */
+    public ParkingSpace getParkingSpace(String spaceId) throws ParkingException {
+        SpacePool pool = poolOf(spaceId);
+        if (pool == null) {
+            return null;
+        }
+        ParkingSpace space = new ParkingSpace(spaceId, SpaceIds.sizeOf(spaceId));
+        Vehicle vehicle = pool.vehicleAt(SpaceIds.slotOf(spaceId));
+        if (vehicle != null) {
+            space.parkVehicle(vehicle);
+        }
+        return space;
+    }
+
+    // Held spaces count as neither free nor occupied
     @Override
     public int getOccupiedSpaces() {
-        // TODO: Return number of occupied spaces
-        throw new NotImplementedException();
+        int occupied = 0;
+        for (SpaceSize size : SpaceSize.values()) {
+            occupied += getOccupiedSpaces(size);
+        }
+        return occupied;
+    }
+
+    /**
+     * Returns the number of spaces of the given size with a vehicle in them.
+     * Like the free counts it is read without locking and may trail
+     * concurrent parks and unparks.
+     */
+    public int getOccupiedSpaces(SpaceSize size) {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        SpacePool pool = spacePools.get(size);
+        return pool.capacity() - pool.freeCount() - pool.heldCount();
+    }
+
+    // Spaces held by reservations; they count as neither free nor occupied
+    public int getHeldSpaces() {
+        int held = 0;
+        for (SpaceSize size : SpaceSize.values()) {
+            held += getHeldSpaces(size);
+        }
+        return held;
+    }
+
+    public int getHeldSpaces(SpaceSize size) {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        expireReservations();
+        return spacePools.get(size).heldCount();
     }
 
     @Override
     public double getOccupancyRate() {
-        // TODO: Calculate and return occupancy rate as a percentage
-        throw new NotImplementedException();
+        if (totalCapacity == 0) {
+            return 0.0;
+        }
+        return getOccupiedSpaces() * 100.0 / totalCapacity;
+    }
+
+    /**
+     * Claims a free space that can fit the vehicle and parks it there, checking
+     * sizes in the vehicle's order of preference (smallest suitable size first).
+     * Each size keeps an index of its free slots, so this never walks the
+     * occupied spaces.
+     *
+     * @return the ID of the claimed space, or null if every compatible size is full
+     */
+    private String findAvailableSpace(Vehicle vehicle) {
+        for (SpaceSize size : vehicle.getCompatibleSpaceSizes()) {
+            int slot = spacePools.get(size).park(vehicle);
+            if (slot >= 0) {
+                return SpaceIds.format(size, slot);
+            }
+        }
+        return null;
     }
 
-    private ParkingSpace findAvailableSpace(Vehicle vehicle) {
-        // TODO: Find the first available space that can fit the vehicle
-        // Should check spaces in order of preference (smallest suitable size first)
-        throw new NotImplementedException();
+    // Returns the vehicle parked under the ticket, or null if it has since left
+    private Vehicle findParkedVehicle(ParkingTicket ticket) {
+        SpacePool pool = poolOf(ticket.getSpaceId());
+        if (pool == null) {
+            return null;
+        }
+        Vehicle vehicle = pool.vehicleAt(SpaceIds.slotOf(ticket.getSpaceId()));
+        return vehicle != null && vehicle.getPlateKey().equals(ticket.getPlateKey()) ? vehicle : null;
     }
 
-    // Helper method - this one is implemented for you
-    private ParkingSpace findSpaceById(String spaceId) {
-        return spaces.values().stream()
-                .flatMap(List::stream)
-                .filter(space -> spaceId.equals(space.getId()))
-                .findFirst()
-                .orElse(null);
+    private ParkingTicket getActiveTicket(String ticketId) throws InvalidTicketException {
+        long ticketNumber = ParkingTicket.parseTicketNumber(ticketId);
+        ParkingTicket ticket = ticketNumber >= 0 ? activeTickets.get(ticketNumber) : null;
+        if (ticket == null) {
+            throw new InvalidTicketException("Invalid ticket ID: " + ticketId);
+        }
+        return ticket;
     }
 
-    // Helper method - this one is implemented for you
-    private String generateTicketId() {
-        return String.format("T%06d", ++ticketCounter);
+    /**
+     * Resolves a space ID in O(1) without allocating. Space IDs decode straight
+     * into a size and a slot, see {@link SpaceIds}.
+     *
+     * @return the pool holding the space, or null if the ID does not name a space of this lot
+     */
+    private SpacePool poolOf(String spaceId) {
+        SpaceSize size = SpaceIds.sizeOf(spaceId);
+        if (size == null) {
+            return null;
+        }
+        SpacePool pool = spacePools.get(size);
+        int slot = SpaceIds.slotOf(spaceId);
+        return slot >= 0 && slot < pool.capacity() ? pool : null;
+    }
+
+    // A vehicle waiting for a space; completed with its ticket, or failed when it gives up
+    private static final class Waiter {
+        final Vehicle vehicle;
+        final CompletableFuture<ParkingTicket> ticket = new CompletableFuture<>();
+        // Queue order across vehicle types; guarded by waitlistLock
+        long sequence;
+        // Space found for the waiter while serving the queue; guarded by waitlistLock
+        String spaceId;
+        // Set once the waiter is queued; cancelled after the ticket is completed, so one side always sees the other
+        volatile ScheduledFuture<?> timeout;
+
+        Waiter(Vehicle vehicle) {
+            this.vehicle = vehicle;
+        }
+
+        void cancelTimeout() {
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.parkinglot.services;
+
+import com.parkinglot.enums.SpaceSize;
+
+/**
+ * Encodes and decodes space IDs. An ID is a one-letter size prefix followed
+ * by the 1-based slot number, zero-padded to three digits (S001, M042,
+ * L1234), so an ID maps straight to a slot and back without any lookup table.
+ */
+final class SpaceIds {
+    private static final int SPACE_NUMBER_WIDTH = 3;
+    // Longest slot number that always fits in an int
+    private static final int MAX_SPACE_NUMBER_DIGITS = 9;
+
+    private SpaceIds() {
+    }
+
+    static String format(SpaceSize size, int slot) {
+        int number = slot + 1;
+        int digits = Math.max(SPACE_NUMBER_WIDTH, digitCount(number));
+        char[] id = new char[digits + 1];
+        id[0] = prefix(size);
+        for (int i = digits; i >= 1; i--) {
+            id[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        return new String(id);
+    }
+
+    // Returns the size encoded in a space ID, or null if the ID has no known prefix
+    static SpaceSize sizeOf(String spaceId) {
+        if (spaceId == null || spaceId.isEmpty()) {
+            return null;
+        }
+        switch (spaceId.charAt(0)) {
+            case 'S':
+                return SpaceSize.SMALL;
+            case 'M':
+                return SpaceSize.MEDIUM;
+            case 'L':
+                return SpaceSize.LARGE;
+            default:
+                return null;
+        }
+    }
+
+    // Returns the 0-based slot encoded in a space ID, or -1 if the ID is not in canonical form
+    static int slotOf(String spaceId) {
+        int digits = spaceId.length() - 1;
+        if (digits < SPACE_NUMBER_WIDTH || digits > MAX_SPACE_NUMBER_DIGITS) {
+            return -1;
+        }
+        if (digits > SPACE_NUMBER_WIDTH && spaceId.charAt(1) == '0') {
+            return -1;
+        }
+        int number = 0;
+        for (int i = 1; i <= digits; i++) {
+            char c = spaceId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number - 1;
+    }
+
+    private static char prefix(SpaceSize size) {
+        switch (size) {
+            case SMALL:
+                return 'S';
+            case MEDIUM:
+                return 'M';
+            case LARGE:
+                return 'L';
+            default:
+                throw new IllegalArgumentException("Unknown space size: " + size);
+        }
+    }
+
+    private static int digitCount(int number) {
+        int digits = 1;
+        while (number >= 10) {
+            number /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,325 @@
+package com.parkinglot.services;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.Vehicle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The spaces of a single size, split into lock-striped segments.
+ * Each segment owns a contiguous run of slots, its own {@link FreeSpaceIndex}
+ * and its own lock, so gates parking or leaving in different segments never
+ * contend. A space is only ever claimed or released while holding its
+ * segment's lock, which is what keeps two gates from taking the same space.
+ *
+ * <p>Spaces are not objects: a space is a slot number, its size is the
+ * pool's size, and its state is the slot's entry in one flat array of
+ * parked vehicles (null when free). Together with the free index that is
+ * about 12 bytes per space, and a park or unpark touches a handful of cache
+ * lines however large the lot is.
+ *
+ * <p>A held space is one taken out of the free index with no vehicle in it,
+ * e.g. for a reservation. It is skipped by every allocation and is not
+ * counted as free until the hold is released or a vehicle is parked in it.
+ */
+final class SpacePool {
+    // Small lots stay in one segment so allocation order remains predictable
+    private static final int MIN_SLOTS_PER_SEGMENT = 256;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final SpaceSize size;
+    // Vehicle parked in each slot, null when free; guarded by the slot's segment lock
+    private final Vehicle[] vehicles;
+    private final int slotsPerSegment;
+    private final FreeSpaceIndex[] segments;
+    private final ReentrantLock[] locks;
+    // Free count per segment, readable without the lock. Striping the counters
+    // keeps gates in different segments off each other's cache lines, and the
+    // pool total is a sum over at most MAX_SEGMENTS entries.
+    private final AtomicIntegerArray segmentFree;
+    private final AtomicInteger held;
+
+    SpacePool(SpaceSize size, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.size = size;
+        this.vehicles = new Vehicle[capacity];
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_SLOTS_PER_SEGMENT));
+        this.slotsPerSegment = Math.max(1, (capacity + segmentCount - 1) / segmentCount);
+        this.segments = new FreeSpaceIndex[segmentCount];
+        this.locks = new ReentrantLock[segmentCount];
+        this.segmentFree = new AtomicIntegerArray(segmentCount);
+        this.held = new AtomicInteger();
+        for (int s = 0; s < segmentCount; s++) {
+            int segmentCapacity = Math.max(0, Math.min(slotsPerSegment, capacity - s * slotsPerSegment));
+            segments[s] = new FreeSpaceIndex(segmentCapacity);
+            locks[s] = new ReentrantLock();
+            segmentFree.set(s, segmentCapacity);
+        }
+    }
+
+    /**
+     * Claims a free space and parks the vehicle in it. The search starts at
+     * the calling thread's home segment so concurrent gates spread out.
+     *
+     * @return the slot the vehicle was parked in, or -1 if the pool is full
+     */
+    int park(Vehicle vehicle) {
+        return take(vehicle);
+    }
+
+    /**
+     * Holds a free space without parking anything in it.
+     *
+     * @return the held slot, or -1 if the pool is full
+     */
+    int hold() {
+        int slot = take(null);
+        if (slot >= 0) {
+            held.incrementAndGet();
+        }
+        return slot;
+    }
+
+    /**
+     * Holds one specific space without parking anything in it.
+     *
+     * @return false if that space is not free
+     */
+    boolean holdAt(int slot) {
+        if (!takeAt(slot, null)) {
+            return false;
+        }
+        held.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Parks the vehicle in a space held by {@link #hold()} or
+     * {@link #holdAt(int)}, ending the hold. The caller has checked that the
+     * vehicle fits this size.
+     *
+     * @return false if the space is not held
+     */
+    boolean parkHeld(int slot, Vehicle vehicle) {
+        int s = slot / slotsPerSegment;
+        ReentrantLock lock = locks[s];
+        lock.lock();
+        try {
+            if (vehicles[slot] != null || segments[s].isFree(slot - s * slotsPerSegment)) {
+                return false;
+            }
+            vehicles[slot] = vehicle;
+            held.decrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees a held space again.
+     *
+     * @return false if the space is not held
+     */
+    boolean releaseHold(int slot) {
+        int s = slot / slotsPerSegment;
+        ReentrantLock lock = locks[s];
+        lock.lock();
+        try {
+            if (vehicles[slot] != null || !segments[s].release(slot - s * slotsPerSegment)) {
+                return false;
+            }
+            segmentFree.incrementAndGet(s);
+            held.decrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Claims any free slot for the vehicle, or holds it empty when the vehicle is null
+    private int take(Vehicle vehicle) {
+        int segmentCount = segments.length;
+        int start = (int) (Thread.currentThread().getId() % segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            int s = (start + i) % segmentCount;
+            if (segmentFree.get(s) == 0) {
+                continue;
+            }
+            ReentrantLock lock = locks[s];
+            lock.lock();
+            try {
+                int local = segments[s].allocate();
+                if (local < 0) {
+                    continue;
+                }
+                int slot = s * slotsPerSegment + local;
+                vehicles[slot] = vehicle;
+                segmentFree.decrementAndGet(s);
+                return slot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parks as many of the given vehicles as fit, taking each segment's lock
+     * at most once for the whole batch. Vehicles that already have a size in
+     * {@code assignedSizes}, are null, or cannot use this size are skipped;
+     * the others are served in array order and get this pool's size and
+     * their slot recorded at their index.
+     *
+     * @return the number of vehicles parked by this call
+     */
+    int parkAll(Vehicle[] pending, SpaceSize[] assignedSizes, int[] assignedSlots) {
+        int parked = 0;
+        int next = nextPending(pending, assignedSizes, 0);
+        int segmentCount = segments.length;
+        int start = (int) (Thread.currentThread().getId() % segmentCount);
+        for (int i = 0; i < segmentCount && next < pending.length; i++) {
+            int s = (start + i) % segmentCount;
+            if (segmentFree.get(s) == 0) {
+                continue;
+            }
+            ReentrantLock lock = locks[s];
+            lock.lock();
+            try {
+                while (next < pending.length) {
+                    int local = segments[s].allocate();
+                    if (local < 0) {
+                        break;
+                    }
+                    int slot = s * slotsPerSegment + local;
+                    vehicles[slot] = pending[next];
+                    segmentFree.decrementAndGet(s);
+                    assignedSizes[next] = size;
+                    assignedSlots[next] = slot;
+                    parked++;
+                    next = nextPending(pending, assignedSizes, next + 1);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return parked;
+    }
+
+    private int nextPending(Vehicle[] pending, SpaceSize[] assignedSizes, int from) {
+        for (int i = from; i < pending.length; i++) {
+            if (assignedSizes[i] == null && pending[i] != null && pending[i].getCompatibleSpaceSizes().contains(size)) {
+                return i;
+            }
+        }
+        return pending.length;
+    }
+
+    /**
+     * Parks the vehicle in one specific space, e.g. when restoring saved state.
+     *
+     * @return false if that space is not free
+     */
+    boolean parkAt(int slot, Vehicle vehicle) throws ParkingException {
+        if (!vehicle.getCompatibleSpaceSizes().contains(size)) {
+            throw new ParkingException("Vehicle cannot fit in " + size + " parking space " + SpaceIds.format(size, slot));
+        }
+        return takeAt(slot, vehicle);
+    }
+
+    private boolean takeAt(int slot, Vehicle vehicle) {
+        int s = slot / slotsPerSegment;
+        ReentrantLock lock = locks[s];
+        lock.lock();
+        try {
+            int local = slot - s * slotsPerSegment;
+            if (!segments[s].claim(local)) {
+                return false;
+            }
+            vehicles[slot] = vehicle;
+            segmentFree.decrementAndGet(s);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the vehicle from the space in the given slot and frees the slot.
+     */
+    Vehicle remove(int slot) throws ParkingException {
+        int s = slot / slotsPerSegment;
+        ReentrantLock lock = locks[s];
+        lock.lock();
+        try {
+            Vehicle vehicle = vehicles[slot];
+            if (vehicle == null) {
+                throw new ParkingException("Parking space " + SpaceIds.format(size, slot) + " is not occupied");
+            }
+            vehicles[slot] = null;
+            segments[s].release(slot - s * slotsPerSegment);
+            segmentFree.incrementAndGet(s);
+            return vehicle;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the vehicle from the space in the given slot but keeps the
+     * space held, e.g. to hand it straight to a waiting vehicle.
+     */
+    Vehicle removeAndHold(int slot) throws ParkingException {
+        int s = slot / slotsPerSegment;
+        ReentrantLock lock = locks[s];
+        lock.lock();
+        try {
+            Vehicle vehicle = vehicles[slot];
+            if (vehicle == null) {
+                throw new ParkingException("Parking space " + SpaceIds.format(size, slot) + " is not occupied");
+            }
+            vehicles[slot] = null;
+            held.incrementAndGet();
+            return vehicle;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Vehicle vehicleAt(int slot) {
+        int s = slot / slotsPerSegment;
+        ReentrantLock lock = locks[s];
+        lock.lock();
+        try {
+            return vehicles[slot];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of free spaces in O(1) without taking any lock. The
+     * value may trail concurrent parks and unparks by a few spaces.
+     */
+    int freeCount() {
+        int free = 0;
+        for (int s = 0; s < segments.length; s++) {
+            free += segmentFree.get(s);
+        }
+        return free;
+    }
+
+    // Number of held spaces; like freeCount() it may trail concurrent changes
+    int heldCount() {
+        return held.get();
+    }
+
+    int capacity() {
+        return vehicles.length;
+    }
+}
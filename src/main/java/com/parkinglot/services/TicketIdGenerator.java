@@ -0,0 +1,56 @@
+package com.parkinglot.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues ticket numbers for a parking lot.
+ * Numbers are plain longs drawn from a single lock-free sequence, so issuing
+ * one costs a single atomic increment and never allocates. They are only
+ * rendered as "T%06d" strings by {@link com.parkinglot.models.ParkingTicket}
+ * when the ticket ID is actually read. Several lots can share one generator
+ * to keep their ticket IDs unique.
+ */
+public final class TicketIdGenerator {
+    private static final long DEFAULT_LAST_ISSUED = 1000;
+
+    private final AtomicLong lastIssued;
+
+    public TicketIdGenerator() {
+        this(DEFAULT_LAST_ISSUED);
+    }
+
+    public TicketIdGenerator(long lastIssued) {
+        if (lastIssued < 0) {
+            throw new IllegalArgumentException("Last issued ticket number cannot be negative");
+        }
+        this.lastIssued = new AtomicLong(lastIssued);
+    }
+
+    public long next() {
+        return lastIssued.incrementAndGet();
+    }
+
+    /**
+     * Reserves a contiguous block of ticket numbers in one step.
+     *
+     * @return the first number of the block; the block ends at first + count - 1
+     */
+    public long reserve(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        return lastIssued.getAndAdd(count) + 1;
+    }
+
+    public long getLastIssued() {
+        return lastIssued.get();
+    }
+
+    /**
+     * Moves the sequence forward so it never reissues a number at or below the
+     * given one, e.g. after restoring tickets from persisted state.
+     */
+    public void advanceTo(long ticketNumber) {
+        lastIssued.accumulateAndGet(ticketNumber, Math::max);
+    }
+}
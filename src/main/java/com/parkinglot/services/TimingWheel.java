@@ -0,0 +1,219 @@
+package com.parkinglot.services;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for deadlines that are mostly cancelled before
+ * they fire, such as space reservations.
+ * Time is cut into ticks; level 0 has one slot per tick and each higher level
+ * has one slot per full turn of the level below. A timer sits in the slot of
+ * the lowest level that can still tell its deadline apart, and moves down a
+ * level each time that slot comes round, so scheduling, cancelling and
+ * expiring are all O(1) per timer whatever the number of timers pending.
+ * Each level keeps a bitmap of the slots that hold timers, so advancing
+ * jumps straight to the next tick that has a timer to expire or cascade and
+ * never visits empty slots; an empty wheel skips straight to the present.
+ * Not thread-safe; callers guard the wheel with their own lock.
+ */
+final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    // Ticks covered by all levels together; later deadlines wait in the top level and are placed again
+    private static final long SPAN_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    /**
+     * A scheduled deadline, linked into the slot it currently waits in.
+     */
+    static final class Timer<T> {
+        private final T value;
+        private final long deadlineTick;
+        private int level = -1;
+        private int slot;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        boolean isPending() {
+            return level >= 0;
+        }
+    }
+
+    private final long tickNanos;
+    private final long startNanos;
+    // Head of each slot's list of timers, indexed [level][slot]
+    private final Timer<T>[][] slots;
+    // Bit s of entry l is set while slot s of level l holds a timer
+    private final long[] busySlots = new long[LEVELS];
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickNanos, long startNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickNanos = tickNanos;
+        this.startNanos = startNanos;
+        this.slots = (Timer<T>[][]) new Timer<?>[LEVELS][SLOTS];
+    }
+
+    /**
+     * Schedules a value to expire at the first tick at or after the deadline.
+     * A deadline that has already passed expires on the next tick.
+     */
+    Timer<T> schedule(T value, long deadlineNanos) {
+        long elapsed = deadlineNanos - startNanos;
+        long deadlineTick = Math.max(currentTick + 1, Math.floorDiv(elapsed + tickNanos - 1, tickNanos));
+        Timer<T> timer = new Timer<>(value, deadlineTick);
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Removes a timer before it fires.
+     *
+     * @return false if the timer had already fired or been cancelled
+     */
+    boolean cancel(Timer<T> timer) {
+        if (!timer.isPending()) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to the given time and hands every timer whose
+     * deadline has passed to {@code onExpiry}, earliest tick first.
+     *
+     * @return the number of values expired
+     */
+    int advanceTo(long nowNanos, Consumer<? super Timer<T>> onExpiry) {
+        long targetTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+        int expired = 0;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick = Math.min(targetTick, nextTickToVisit());
+            cascade();
+            expired += expireCurrentSlot(onExpiry);
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The next tick at which a slot holding timers comes round, on any level
+    private long nextTickToVisit() {
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            if (busySlots[level] != 0) {
+                int shift = SLOT_BITS * level;
+                long turn = currentTick >> shift;
+                // Slots come round in order from the one after the current turn's, wrapping back to it last
+                long ahead = Long.rotateRight(busySlots[level], (int) (turn + 1) & SLOT_MASK);
+                next = Math.min(next, (turn + 1 + Long.numberOfTrailingZeros(ahead)) << shift);
+            }
+        }
+        return next;
+    }
+
+    // Moves the timers of each higher-level slot that has just come round down the wheel
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Timer<T> timer = detach(level, (int) (currentTick >> shift) & SLOT_MASK);
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                insert(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private int expireCurrentSlot(Consumer<? super Timer<T>> onExpiry) {
+        int expired = 0;
+        Timer<T> timer = detach(0, (int) currentTick & SLOT_MASK);
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            if (timer.deadlineTick <= currentTick) {
+                timer.previous = null;
+                timer.next = null;
+                size--;
+                expired++;
+                onExpiry.accept(timer);
+            } else {
+                insert(timer);
+            }
+            timer = next;
+        }
+        return expired;
+    }
+
+    private void insert(Timer<T> timer) {
+        long placeTick = Math.min(timer.deadlineTick, currentTick + SPAN_TICKS - 1);
+        long delta = placeTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (placeTick >> (SLOT_BITS * level)) & SLOT_MASK;
+        Timer<T> head = slots[level][slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = head;
+        if (head != null) {
+            head.previous = timer;
+        }
+        slots[level][slot] = timer;
+        busySlots[level] |= 1L << slot;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[timer.level][timer.slot] = timer.next;
+            if (timer.next == null) {
+                busySlots[timer.level] &= ~(1L << timer.slot);
+            }
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.level = -1;
+        timer.previous = null;
+        timer.next = null;
+    }
+
+    // Empties a slot and returns its former list; the timers are marked as not pending
+    private Timer<T> detach(int level, int slot) {
+        Timer<T> head = slots[level][slot];
+        slots[level][slot] = null;
+        busySlots[level] &= ~(1L << slot);
+        for (Timer<T> timer = head; timer != null; timer = timer.next) {
+            timer.level = -1;
+        }
+        return head;
+    }
+}
@@ -0,0 +1,106 @@
+package com.parkinglot.statistics;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.models.ParkingTicket;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Totals of one day's completed sessions, attributed to the day the vehicle
+ * left, and the highest occupancy reached that day. Durations are kept at
+ * minute resolution; stays of a day or longer all count as one day.
+ */
+public final class DailySummary {
+    private final LocalDate date;
+    private final long[] sessionsByType;
+    private final long[] revenueCentsByType;
+    private final long totalDurationMinutes;
+    private final int[] durationHistogram;
+    private final int[] peakOccupied;
+
+    DailySummary(LocalDate date, long[] sessionsByType, long[] revenueCentsByType, long totalDurationMinutes,
+                 int[] durationHistogram, int[] peakOccupied) {
+        this.date = date;
+        this.sessionsByType = sessionsByType;
+        this.revenueCentsByType = revenueCentsByType;
+        this.totalDurationMinutes = totalDurationMinutes;
+        this.durationHistogram = durationHistogram;
+        this.peakOccupied = peakOccupied;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getSessionCount() {
+        long total = 0;
+        for (long sessions : sessionsByType) {
+            total += sessions;
+        }
+        return total;
+    }
+
+    public long getSessionCount(VehicleType type) {
+        return sessionsByType[type.ordinal()];
+    }
+
+    public long getRevenueCents() {
+        long total = 0;
+        for (long cents : revenueCentsByType) {
+            total += cents;
+        }
+        return total;
+    }
+
+    public long getRevenueCents(VehicleType type) {
+        return revenueCentsByType[type.ordinal()];
+    }
+
+    public BigDecimal getRevenue() {
+        return ParkingTicket.centsToAmount(getRevenueCents());
+    }
+
+    public BigDecimal getRevenue(VehicleType type) {
+        return ParkingTicket.centsToAmount(getRevenueCents(type));
+    }
+
+    public Duration getAverageDuration() {
+        long sessions = getSessionCount();
+        return sessions == 0 ? Duration.ZERO : Duration.ofMinutes(totalDurationMinutes / sessions);
+    }
+
+    /**
+     * Returns the stay length that the given fraction of sessions did not
+     * exceed, e.g. 0.9 for the 90th percentile, in whole minutes.
+     */
+    public Duration getDurationPercentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1");
+        }
+        long sessions = getSessionCount();
+        if (sessions == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * sessions));
+        long seen = 0;
+        for (int minutes = 0; minutes < durationHistogram.length; minutes++) {
+            seen += durationHistogram[minutes];
+            if (seen >= rank) {
+                return Duration.ofMinutes(minutes);
+            }
+        }
+        return Duration.ofMinutes(durationHistogram.length - 1);
+    }
+
+    public int getPeakOccupied(SpaceSize size) {
+        return peakOccupied[size.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return date + ": " + getSessionCount() + " sessions, revenue " + getRevenue();
+    }
+}
@@ -0,0 +1,142 @@
+package com.parkinglot.statistics;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingEventListener;
+import com.parkinglot.services.ParkingLotService;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Folds every completed session into running per-day totals as it happens,
+ * so a daily report never rescans tickets or recomputes fees. Totals are
+ * atomic counters: gates update them without locking and
+ * {@link #getDailySummary(LocalDate)} reads them without blocking the gates,
+ * in time independent of the day's traffic.
+ *
+ * <p>Only the most recent {@code retainedDays} days are kept. A day's peak
+ * occupancy starts at the occupancy its first event finds, so a day that
+ * only sees departures still reports the vehicles it began with.
+ */
+public final class DailySummaryAggregator implements ParkingEventListener {
+    public static final int DEFAULT_RETAINED_DAYS = 31;
+
+    private static final int TYPES = VehicleType.values().length;
+    private static final int SIZES = SpaceSize.values().length;
+    // One slot per minute of a day; the last slot collects longer stays
+    private static final int DURATION_SLOTS = 24 * 60 + 1;
+
+    private final ParkingLotService lot;
+    private final int retainedDays;
+    private final AtomicIntegerArray occupied = new AtomicIntegerArray(SIZES);
+    private final Map<LocalDate, DayTotals> days = new ConcurrentHashMap<>();
+
+    public DailySummaryAggregator(ParkingLotService lot) {
+        this(lot, DEFAULT_RETAINED_DAYS);
+    }
+
+    public DailySummaryAggregator(ParkingLotService lot, int retainedDays) {
+        if (lot == null) {
+            throw new IllegalArgumentException("Lot cannot be null");
+        }
+        if (retainedDays <= 0) {
+            throw new IllegalArgumentException("At least one day must be retained");
+        }
+        this.lot = lot;
+        this.retainedDays = retainedDays;
+        for (SpaceSize size : SpaceSize.values()) {
+            occupied.set(size.ordinal(), lot.getOccupiedSpaces(size));
+        }
+    }
+
+    @Override
+    public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+        SpaceSize size = lot.getSpaceSize(ticket.getSpaceId());
+        if (size == null) {
+            return;
+        }
+        DayTotals totals = totalsFor(ticket.getEntryTime().toLocalDate());
+        int now = occupied.incrementAndGet(size.ordinal());
+        totals.peakOccupied.accumulateAndGet(size.ordinal(), now, Math::max);
+    }
+
+    @Override
+    public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+        // Opening the day first lets its peak include the vehicle that is leaving
+        DayTotals totals = totalsFor(ticket.getExitTime().toLocalDate());
+        SpaceSize size = lot.getSpaceSize(ticket.getSpaceId());
+        if (size != null) {
+            occupied.decrementAndGet(size.ordinal());
+        }
+        int type = vehicle.getType().ordinal();
+        long minutes = Math.max(0, ticket.getEntryTime().until(ticket.getExitTime(), ChronoUnit.MINUTES));
+        totals.sessionsByType.incrementAndGet(type);
+        totals.revenueCentsByType.addAndGet(type, feeCents);
+        totals.totalDurationMinutes.addAndGet(minutes);
+        totals.durationHistogram.incrementAndGet((int) Math.min(minutes, DURATION_SLOTS - 1));
+    }
+
+    /**
+     * Returns the totals for the given day, or null if nothing was recorded
+     * for it or it is no longer retained.
+     */
+    public DailySummary getDailySummary(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        DayTotals totals = days.get(date);
+        return totals != null ? totals.snapshot(date) : null;
+    }
+
+    private DayTotals totalsFor(LocalDate date) {
+        DayTotals totals = days.get(date);
+        if (totals == null) {
+            totals = days.computeIfAbsent(date, d -> new DayTotals(occupied));
+            // A new day has started; forget the ones that fell out of the window
+            LocalDate oldestKept = date.minusDays(retainedDays - 1);
+            days.keySet().removeIf(day -> day.isBefore(oldestKept));
+        }
+        return totals;
+    }
+
+    private static final class DayTotals {
+        final AtomicLongArray sessionsByType = new AtomicLongArray(TYPES);
+        final AtomicLongArray revenueCentsByType = new AtomicLongArray(TYPES);
+        final AtomicLong totalDurationMinutes = new AtomicLong();
+        final AtomicIntegerArray durationHistogram = new AtomicIntegerArray(DURATION_SLOTS);
+        final AtomicIntegerArray peakOccupied = new AtomicIntegerArray(SIZES);
+
+        // The peak starts at the occupancy when the day opens
+        DayTotals(AtomicIntegerArray occupied) {
+            for (int s = 0; s < SIZES; s++) {
+                peakOccupied.set(s, occupied.get(s));
+            }
+        }
+
+        DailySummary snapshot(LocalDate date) {
+            long[] sessions = new long[TYPES];
+            long[] revenue = new long[TYPES];
+            for (int t = 0; t < TYPES; t++) {
+                sessions[t] = sessionsByType.get(t);
+                revenue[t] = revenueCentsByType.get(t);
+            }
+            int[] histogram = new int[DURATION_SLOTS];
+            for (int m = 0; m < DURATION_SLOTS; m++) {
+                histogram[m] = durationHistogram.get(m);
+            }
+            int[] peaks = new int[SIZES];
+            for (int s = 0; s < SIZES; s++) {
+                peaks[s] = peakOccupied.get(s);
+            }
+            return new DailySummary(date, sessions, revenue, totalDurationMinutes.get(), histogram, peaks);
+        }
+    }
+}
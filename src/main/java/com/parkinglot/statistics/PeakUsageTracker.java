@@ -0,0 +1,246 @@
+package com.parkinglot.statistics;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingEventListener;
+import com.parkinglot.services.ParkingLotService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks occupancy per {@link SpaceSize} and arrival and departure counts in
+ * fixed rings of per-minute and per-hour buckets, updated on every park and
+ * unpark. Events are bucketed by the entry or exit time on the ticket, so
+ * the tracker never reads the clock and never looks at the lot's spaces.
+ *
+ * <p>An update is a few array writes under one short lock. Rings overwrite
+ * their oldest bucket as time moves on, so memory is fixed and every query
+ * is O(buckets). Buckets in which nothing happened are not reported.
+ *
+ * <p>Occupancy starts from the lot's state when the tracker is created, so
+ * create and register it before the gates open.
+ */
+public final class PeakUsageTracker implements ParkingEventListener {
+    public static final int DEFAULT_MINUTE_BUCKETS = 24 * 60;
+    public static final int DEFAULT_HOUR_BUCKETS = 7 * 24;
+
+    private static final int SIZES = SpaceSize.values().length;
+
+    private final ParkingLotService lot;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final int[] occupied = new int[SIZES];
+    private final Ring minutes;
+    private final Ring hours;
+
+    public PeakUsageTracker(ParkingLotService lot) {
+        this(lot, DEFAULT_MINUTE_BUCKETS, DEFAULT_HOUR_BUCKETS);
+    }
+
+    public PeakUsageTracker(ParkingLotService lot, int minuteBuckets, int hourBuckets) {
+        if (lot == null) {
+            throw new IllegalArgumentException("Lot cannot be null");
+        }
+        if (minuteBuckets <= 0 || hourBuckets <= 0) {
+            throw new IllegalArgumentException("Bucket counts must be positive");
+        }
+        this.lot = lot;
+        this.minutes = new Ring(60, minuteBuckets);
+        this.hours = new Ring(3600, hourBuckets);
+        for (SpaceSize size : SpaceSize.values()) {
+            occupied[size.ordinal()] = lot.getOccupiedSpaces(size);
+        }
+    }
+
+    @Override
+    public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+        record(ticket.getSpaceId(), ticket.getEntryTime(), true);
+    }
+
+    @Override
+    public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+        record(ticket.getSpaceId(), ticket.getExitTime(), false);
+    }
+
+    private void record(String spaceId, LocalDateTime time, boolean arrival) {
+        SpaceSize size = lot.getSpaceSize(spaceId);
+        if (size == null) {
+            return;
+        }
+        long epochSecond = time.toEpochSecond(ZoneOffset.UTC);
+        lock.lock();
+        try {
+            occupied[size.ordinal()] += arrival ? 1 : -1;
+            minutes.record(epochSecond, occupied, size.ordinal(), arrival);
+            hours.record(epochSecond, occupied, size.ordinal(), arrival);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<UsageBucket> getMinuteBuckets() {
+        return buckets(minutes);
+    }
+
+    public List<UsageBucket> getHourBuckets() {
+        return buckets(hours);
+    }
+
+    /**
+     * Returns the minute in which the most spaces of the given size were
+     * occupied at once, or null if nothing has been recorded yet. Ties go to
+     * the earliest minute.
+     */
+    public UsageBucket findPeakMinute(SpaceSize size) {
+        return peak(minutes, size);
+    }
+
+    /**
+     * Hourly counterpart of {@link #findPeakMinute(SpaceSize)}.
+     */
+    public UsageBucket findPeakHour(SpaceSize size) {
+        return peak(hours, size);
+    }
+
+    private List<UsageBucket> buckets(Ring ring) {
+        lock.lock();
+        try {
+            List<UsageBucket> buckets = new ArrayList<>(ring.stamps.length);
+            long newest = ring.newestStamp;
+            for (long stamp = newest - ring.stamps.length + 1; stamp <= newest; stamp++) {
+                int slot = ring.slotOf(stamp);
+                if (ring.stamps[slot] == stamp) {
+                    buckets.add(ring.snapshot(slot));
+                }
+            }
+            return buckets;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UsageBucket peak(Ring ring, SpaceSize size) {
+        if (size == null) {
+            throw new IllegalArgumentException("Space size cannot be null");
+        }
+        lock.lock();
+        try {
+            int best = -1;
+            int bestMax = 0;
+            for (int slot = 0; slot < ring.stamps.length; slot++) {
+                if (ring.stamps[slot] == Ring.UNUSED) {
+                    continue;
+                }
+                int slotMax = ring.max[ring.cell(slot, size.ordinal())];
+                if (best < 0 || slotMax > bestMax || (slotMax == bestMax && ring.stamps[slot] < ring.stamps[best])) {
+                    best = slot;
+                    bestMax = slotMax;
+                }
+            }
+            return best >= 0 ? ring.snapshot(best) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fixed ring of buckets, each {@code unitSeconds} long. Per-size values
+     * are stored flat at {@code slot * SIZES + size}.
+     */
+    private static final class Ring {
+        static final long UNUSED = Long.MIN_VALUE;
+
+        final long unitSeconds;
+        final long[] stamps;
+        final int[] min;
+        final int[] max;
+        final long[] sum;
+        final int[] samples;
+        final int[] arrivals;
+        final int[] departures;
+        long newestStamp = UNUSED;
+
+        Ring(long unitSeconds, int buckets) {
+            this.unitSeconds = unitSeconds;
+            this.stamps = new long[buckets];
+            Arrays.fill(stamps, UNUSED);
+            this.min = new int[buckets * SIZES];
+            this.max = new int[buckets * SIZES];
+            this.sum = new long[buckets * SIZES];
+            this.samples = new int[buckets];
+            this.arrivals = new int[buckets];
+            this.departures = new int[buckets];
+        }
+
+        int slotOf(long stamp) {
+            return (int) Math.floorMod(stamp, (long) stamps.length);
+        }
+
+        int cell(int slot, int size) {
+            return slot * SIZES + size;
+        }
+
+        // occupied already includes the event; changedSize is the size it affected
+        void record(long epochSecond, int[] occupied, int changedSize, boolean arrival) {
+            long stamp = Math.floorDiv(epochSecond, unitSeconds);
+            int slot = slotOf(stamp);
+            if (stamps[slot] > stamp) {
+                // A late event for a bucket that has already been recycled
+                return;
+            }
+            if (stamps[slot] != stamp) {
+                stamps[slot] = stamp;
+                samples[slot] = 0;
+                arrivals[slot] = 0;
+                departures[slot] = 0;
+                // The bucket opens at the occupancy from just before this event
+                for (int s = 0; s < SIZES; s++) {
+                    int before = s == changedSize ? occupied[s] + (arrival ? -1 : 1) : occupied[s];
+                    min[cell(slot, s)] = before;
+                    max[cell(slot, s)] = before;
+                    sum[cell(slot, s)] = 0;
+                }
+                newestStamp = Math.max(newestStamp, stamp);
+            }
+            for (int s = 0; s < SIZES; s++) {
+                int c = cell(slot, s);
+                int value = occupied[s];
+                if (value < min[c]) {
+                    min[c] = value;
+                }
+                if (value > max[c]) {
+                    max[c] = value;
+                }
+                sum[c] += value;
+            }
+            samples[slot]++;
+            if (arrival) {
+                arrivals[slot]++;
+            } else {
+                departures[slot]++;
+            }
+        }
+
+        UsageBucket snapshot(int slot) {
+            int[] bucketMin = new int[SIZES];
+            int[] bucketMax = new int[SIZES];
+            double[] bucketAverage = new double[SIZES];
+            for (int s = 0; s < SIZES; s++) {
+                int c = cell(slot, s);
+                bucketMin[s] = min[c];
+                bucketMax[s] = max[c];
+                bucketAverage[s] = (double) sum[c] / samples[slot];
+            }
+            LocalDateTime start = LocalDateTime.ofEpochSecond(stamps[slot] * unitSeconds, 0, ZoneOffset.UTC);
+            return new UsageBucket(start, Duration.ofSeconds(unitSeconds), bucketMin, bucketMax, bucketAverage,
+                    arrivals[slot], departures[slot]);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.parkinglot.statistics;
+
+import com.parkinglot.enums.SpaceSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Occupancy and traffic of the lot during one minute or one hour. Occupancy
+ * is the number of occupied spaces of each size; the average is taken over
+ * the occupancy seen after each park or unpark in the bucket.
+ */
+public final class UsageBucket {
+    private final LocalDateTime start;
+    private final Duration length;
+    private final int[] minOccupied;
+    private final int[] maxOccupied;
+    private final double[] averageOccupied;
+    private final int arrivals;
+    private final int departures;
+
+    UsageBucket(LocalDateTime start, Duration length, int[] minOccupied, int[] maxOccupied,
+                double[] averageOccupied, int arrivals, int departures) {
+        this.start = start;
+        this.length = length;
+        this.minOccupied = minOccupied;
+        this.maxOccupied = maxOccupied;
+        this.averageOccupied = averageOccupied;
+        this.arrivals = arrivals;
+        this.departures = departures;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public int getMinOccupied(SpaceSize size) {
+        return minOccupied[size.ordinal()];
+    }
+
+    public int getMaxOccupied(SpaceSize size) {
+        return maxOccupied[size.ordinal()];
+    }
+
+    public double getAverageOccupied(SpaceSize size) {
+        return averageOccupied[size.ordinal()];
+    }
+
+    public int getArrivals() {
+        return arrivals;
+    }
+
+    public int getDepartures() {
+        return departures;
+    }
+
+    @Override
+    public String toString() {
+        return start + " +" + length + ": " + arrivals + " in, " + departures + " out";
+    }
+}
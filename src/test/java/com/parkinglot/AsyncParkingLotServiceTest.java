@@ -0,0 +1,155 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.exceptions.InvalidTicketException;
+import com.parkinglot.exceptions.NoAvailableSpaceException;
+import com.parkinglot.models.*;
+import com.parkinglot.services.AsyncParkingLotService;
+import com.parkinglot.services.ParkingEventListener;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncParkingLotServiceTest {
+    private AsyncParkingLotService parkingLot;
+
+    @BeforeEach
+    public void setUp() {
+        parkingLot = new AsyncParkingLotService(1, 200, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        parkingLot.close();
+    }
+
+    @Test
+    public void parkThenUnpark_ShouldCompleteFuturesAndPublishAvailability() {
+        // Arrange
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001")).join();
+
+        // Act
+        int availableWhileParked = parkingLot.getAvailableSpaces(SpaceSize.MEDIUM);
+        Vehicle vehicle = parkingLot.unparkVehicle(ticket.getTicketId()).join();
+
+        // Assert
+        assertEquals("M001", ticket.getSpaceId());
+        assertEquals(199, availableWhileParked);
+        assertEquals("CAR001", vehicle.getLicensePlate());
+        assertEquals(200, parkingLot.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertEquals(0, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void failedOperations_ShouldCompleteExceptionallyWithParkingException() {
+        // Arrange
+        parkingLot.parkVehicle(new Truck("TRUCK001")).join();
+
+        // Act
+        CompletableFuture<ParkingTicket> full = parkingLot.parkVehicle(new Truck("TRUCK002"));
+        CompletableFuture<Vehicle> badTicket = parkingLot.unparkVehicle("T999999");
+
+        // Assert
+        CompletionException fullFailure = assertThrows(CompletionException.class, full::join);
+        assertInstanceOf(NoAvailableSpaceException.class, fullFailure.getCause());
+        CompletionException ticketFailure = assertThrows(CompletionException.class, badTicket::join);
+        assertInstanceOf(InvalidTicketException.class, ticketFailure.getCause());
+        assertEquals(1, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void concurrentCallers_ShouldEachGetOwnSpace() throws InterruptedException {
+        // Arrange
+        List<CompletableFuture<ParkingTicket>> futures = new ArrayList<>();
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int caller = t;
+            callers.add(new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    CompletableFuture<ParkingTicket> future = parkingLot.parkVehicle(new Car("CAR" + caller + "_" + i));
+                    synchronized (futures) {
+                        futures.add(future);
+                    }
+                }
+            }));
+        }
+
+        // Act
+        callers.forEach(Thread::start);
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        Set<String> spaces = new HashSet<>();
+        for (CompletableFuture<ParkingTicket> future : futures) {
+            spaces.add(future.join().getSpaceId());
+        }
+
+        // Assert
+        assertEquals(200, spaces.size());
+        assertEquals(0, parkingLot.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertEquals(200, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void parkVehicle_AfterClose_ShouldFail() {
+        // Arrange
+        parkingLot.close();
+
+        // Act
+        CompletableFuture<ParkingTicket> future = parkingLot.parkVehicle(new Car("CAR001"));
+
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    @Test
+    public void operationThrowingError_ShouldFailOnlyThatFuture() {
+        // Arrange
+        ParkingLotService lot = new ParkingLotService(0, 2, 0);
+        lot.addEventListener(new ParkingEventListener() {
+            @Override
+            public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+                if (vehicle.getLicensePlate().equals("BROKEN")) {
+                    throw new AssertionError("Listener failed");
+                }
+            }
+
+            @Override
+            public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+            }
+        });
+        try (AsyncParkingLotService service = new AsyncParkingLotService(lot)) {
+            // Act
+            CompletableFuture<ParkingTicket> broken = service.parkVehicle(new Car("BROKEN"));
+            CompletableFuture<ParkingTicket> next = service.parkVehicle(new Car("CAR001"));
+
+            // Assert
+            CompletionException failure = assertThrows(CompletionException.class, broken::join);
+            assertInstanceOf(AssertionError.class, failure.getCause());
+            assertEquals("M002", next.join().getSpaceId());
+        }
+    }
+
+    @Test
+    public void close_WhenInterrupted_ShouldKeepInterruptFlag() {
+        // Arrange
+        Thread.currentThread().interrupt();
+
+        // Act
+        parkingLot.close();
+
+        // Assert
+        assertTrue(Thread.interrupted());
+    }
+}
@@ -0,0 +1,107 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.models.*;
+import com.parkinglot.services.ParkingLotService;
+import com.parkinglot.statistics.DailySummary;
+import com.parkinglot.statistics.DailySummaryAggregator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailySummaryAggregatorTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @Test
+    public void getDailySummary_ShouldFoldSessionsIntoTotals() {
+        // Arrange
+        DailySummaryAggregator aggregator = new DailySummaryAggregator(new ParkingLotService(5, 5, 5));
+        session(aggregator, 1, new Car("CAR001"), "M001", 8, 30, 400);
+        session(aggregator, 2, new Car("CAR002"), "M002", 9, 90, 800);
+        session(aggregator, 3, new Truck("TRUCK001"), "L001", 10, 240, 2600);
+        session(aggregator, 4, new Motorcycle("MC001"), "S001", 11, 10, 200);
+
+        // Act
+        DailySummary summary = aggregator.getDailySummary(DAY);
+
+        // Assert
+        assertEquals(4, summary.getSessionCount());
+        assertEquals(2, summary.getSessionCount(VehicleType.CAR));
+        assertEquals(new BigDecimal("12.00"), summary.getRevenue(VehicleType.CAR));
+        assertEquals(new BigDecimal("40.00"), summary.getRevenue());
+        assertEquals(Duration.ofMinutes(92), summary.getAverageDuration());
+        assertEquals(Duration.ofMinutes(30), summary.getDurationPercentile(0.5));
+        assertEquals(Duration.ofMinutes(240), summary.getDurationPercentile(0.99));
+        assertEquals(1, summary.getPeakOccupied(SpaceSize.MEDIUM));
+        assertEquals(1, summary.getPeakOccupied(SpaceSize.LARGE));
+    }
+
+    @Test
+    public void getDailySummary_DayOutsideRetention_ShouldReturnNull() {
+        // Arrange
+        DailySummaryAggregator aggregator = new DailySummaryAggregator(new ParkingLotService(5, 5, 5), 2);
+        ParkingTicket ticket = new ParkingTicket(1, "CAR001", "M001", DAY.atTime(10, 0));
+        ticket.markExit(DAY.atTime(11, 0));
+        aggregator.onVehicleUnparked(ticket, new Car("CAR001"), 400);
+        ParkingTicket later = new ParkingTicket(2, "CAR002", "M002", DAY.plusDays(2).atTime(10, 0));
+        later.markExit(DAY.plusDays(2).atTime(11, 0));
+
+        // Act
+        aggregator.onVehicleUnparked(later, new Car("CAR002"), 400);
+
+        // Assert
+        assertNull(aggregator.getDailySummary(DAY));
+        assertEquals(1, aggregator.getDailySummary(DAY.plusDays(2)).getSessionCount());
+        assertNull(aggregator.getDailySummary(DAY.plusDays(1)));
+    }
+
+    @Test
+    public void getDailySummary_DayWithOnlyDepartures_ShouldReportOccupancyItStartedWith() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 2, 0);
+        parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.parkVehicle(new Car("CAR002"));
+        DailySummaryAggregator aggregator = new DailySummaryAggregator(parkingLot);
+        ParkingTicket ticket = new ParkingTicket(1, "CAR001", "M001", DAY.minusDays(1).atTime(20, 0));
+        ticket.markExit(DAY.atTime(8, 0));
+
+        // Act
+        aggregator.onVehicleUnparked(ticket, new Car("CAR001"), 400);
+
+        // Assert
+        assertEquals(2, aggregator.getDailySummary(DAY).getPeakOccupied(SpaceSize.MEDIUM));
+    }
+
+    @Test
+    public void aggregator_RegisteredOnLot_ShouldRecordChargedFee() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 1, 1);
+        DailySummaryAggregator aggregator = new DailySummaryAggregator(parkingLot);
+        parkingLot.addEventListener(aggregator);
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+
+        // Act
+        parkingLot.unparkVehicle(ticket.getTicketId());
+
+        // Assert
+        DailySummary summary = aggregator.getDailySummary(ticket.getExitTime().toLocalDate());
+        assertEquals(1, summary.getSessionCount(VehicleType.CAR));
+        assertEquals(0, summary.getRevenueCents());
+        assertEquals(1, summary.getPeakOccupied(SpaceSize.MEDIUM));
+    }
+
+    private static void session(DailySummaryAggregator aggregator, long ticketNumber, Vehicle vehicle, String spaceId,
+                                int entryHour, int minutes, long feeCents) {
+        LocalDateTime entry = DAY.atTime(entryHour, 0);
+        ParkingTicket ticket = new ParkingTicket(ticketNumber, vehicle.getLicensePlate(), spaceId, entry);
+        aggregator.onVehicleParked(ticket, vehicle);
+        ticket.markExit(entry.plusMinutes(minutes));
+        aggregator.onVehicleUnparked(ticket, vehicle, feeCents);
+    }
+}
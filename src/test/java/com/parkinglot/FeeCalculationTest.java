@@ -150,4 +150,49 @@ public class FeeCalculationTest {
         // Assert
         assertTrue(duration.toMinutes() >= 29 && duration.toMinutes() <= 31); // Approximately 30 minutes
     }
+
+    @Test
+    public void calculateFeeCents_ShouldMatchBigDecimalCalculation() {
+        // Arrange
+        LocalDateTime entryTime = LocalDateTime.now().minusDays(2);
+        long[] rateCents = {0, 200, 250, 400, 650, 850};
+        long[] durationsMinutes = {0, 1, 30, 59, 60, 61, 150, 1440, 2879};
+
+        for (long rate : rateCents) {
+            for (long minutes : durationsMinutes) {
+                ParkingTicket ticket = new ParkingTicket("T001", "CAR001", "M001", entryTime);
+                ticket.markExit(entryTime.plusMinutes(minutes));
+
+                // Act
+                long feeCents = ticket.calculateFeeCents(rate);
+
+                // Assert
+                assertEquals(ticket.calculateFee(ParkingTicket.centsToAmount(rate)), ParkingTicket.centsToAmount(feeCents));
+            }
+        }
+    }
+
+    @Test
+    public void calculateFeeCents_TwoAndHalfHours_ShouldRoundUpToThreeHours() {
+        // Arrange
+        LocalDateTime entryTime = LocalDateTime.now().minusHours(2).minusMinutes(30);
+        ParkingTicket ticket = new ParkingTicket("T001", "CAR001", "M001", entryTime);
+        ticket.markExit(entryTime.plusHours(2).plusMinutes(30));
+
+        // Act
+        long feeCents = ticket.calculateFeeCents(600);
+
+        // Assert
+        assertEquals(1800, feeCents);
+        assertEquals(new BigDecimal("18.00"), ParkingTicket.centsToAmount(feeCents));
+    }
+
+    @Test
+    public void calculateFeeCents_NegativeRate_ShouldThrowException() {
+        // Arrange
+        ParkingTicket ticket = new ParkingTicket("T001", "MC001", "S001", LocalDateTime.now());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ticket.calculateFeeCents(-1));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.LevelRoutingPolicy;
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.enums.VehicleType;
+import com.parkinglot.exceptions.InvalidTicketException;
+import com.parkinglot.exceptions.NoAvailableSpaceException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.*;
+import com.parkinglot.services.MultiLevelParkingLotService;
+import com.parkinglot.services.ParkingLotService;
+import com.parkinglot.services.TicketIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiLevelParkingLotServiceTest {
+
+    @Test
+    public void parkVehicle_NearestPolicy_ShouldFillLowerLevelFirst() throws ParkingException {
+        // Arrange
+        MultiLevelParkingLotService garage = new MultiLevelParkingLotService(3, 0, 1, 0);
+
+        // Act
+        ParkingTicket first = garage.parkVehicle(new Car("CAR001"));
+        ParkingTicket second = garage.parkVehicle(new Car("CAR002"));
+
+        // Assert
+        assertEquals(0, garage.getLevelOfTicket(first.getTicketId()));
+        assertEquals(1, garage.getLevelOfTicket(second.getTicketId()));
+        assertNotEquals(first.getTicketId(), second.getTicketId());
+        assertEquals(1, garage.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertEquals(2, garage.getOccupiedSpaces());
+    }
+
+    @Test
+    public void parkVehicle_LeastLoadedPolicy_ShouldPickLevelWithMostFreeSpaces() throws ParkingException {
+        // Arrange
+        TicketIdGenerator generator = new TicketIdGenerator();
+        MultiLevelParkingLotService garage = new MultiLevelParkingLotService(List.of(
+                new ParkingLotService(0, 1, 0, generator),
+                new ParkingLotService(0, 3, 0, generator)), LevelRoutingPolicy.LEAST_LOADED);
+
+        // Act
+        ParkingTicket first = garage.parkVehicle(new Car("CAR001"));
+        ParkingTicket second = garage.parkVehicle(new Car("CAR002"));
+        ParkingTicket third = garage.parkVehicle(new Car("CAR003"));
+
+        // Assert
+        assertEquals(1, garage.getLevelOfTicket(first.getTicketId()));
+        assertEquals(1, garage.getLevelOfTicket(second.getTicketId()));
+        // Tied at one free space each, so the nearer level wins
+        assertEquals(0, garage.getLevelOfTicket(third.getTicketId()));
+    }
+
+    @Test
+    public void parkVehicle_SamePlateOnAnotherLevel_ShouldThrowException() throws ParkingException {
+        // Arrange
+        MultiLevelParkingLotService garage = new MultiLevelParkingLotService(2, 0, 1, 0);
+        garage.parkVehicle(new Car("CAR001"));
+
+        // Act & Assert
+        assertThrows(ParkingException.class, () -> garage.parkVehicle(new Car("CAR001")));
+        assertEquals(1, garage.getOccupiedSpaces());
+    }
+
+    @Test
+    public void unparkVehicle_ShouldFreeSpaceOnOwningLevel() throws ParkingException {
+        // Arrange
+        MultiLevelParkingLotService garage = new MultiLevelParkingLotService(2, 0, 1, 0);
+        garage.parkVehicle(new Car("CAR001"));
+        ParkingTicket ticket = garage.parkVehicle(new Car("CAR002"));
+
+        // Act
+        Vehicle vehicle = garage.unparkVehicle(ticket.getTicketId());
+
+        // Assert
+        assertEquals("CAR002", vehicle.getLicensePlate());
+        assertTrue(garage.getLevel(0).isFull());
+        assertFalse(garage.getLevel(1).isFull());
+        assertNull(garage.findVehicleByLicensePlate("CAR002"));
+        assertThrows(InvalidTicketException.class, () -> garage.unparkVehicle(ticket.getTicketId()));
+        assertNotNull(garage.parkVehicle(new Car("CAR002")));
+    }
+
+    @Test
+    public void garage_AllLevelsFull_ShouldAggregateStatistics() throws ParkingException {
+        // Arrange
+        MultiLevelParkingLotService garage = new MultiLevelParkingLotService(2, 1, 0, 0);
+        garage.parkVehicle(new Motorcycle("MC001"));
+        garage.parkVehicle(new Motorcycle("MC002"));
+
+        // Act & Assert
+        assertTrue(garage.isFull());
+        assertEquals(100.0, garage.getOccupancyRate(), 0.01);
+        assertEquals(2, garage.getVehiclesOfTypeView(VehicleType.MOTORCYCLE).size());
+        assertEquals(2, garage.getAllVehiclesOfType(VehicleType.MOTORCYCLE).size());
+        assertThrows(NoAvailableSpaceException.class, () -> garage.parkVehicle(new Motorcycle("MC003")));
+        assertNull(garage.findVehicleByLicensePlate("MC003"));
+    }
+
+    @Test
+    public void tryParkVehicle_AllLevelsFull_ShouldReturnFailureAndKeepPlateFree() throws ParkingException {
+        // Arrange
+        MultiLevelParkingLotService garage = new MultiLevelParkingLotService(2, 0, 1, 0);
+        garage.parkVehicle(new Car("CAR001"));
+        ParkingTicket second = garage.parkVehicle(new Car("CAR002"));
+
+        // Act
+        ParkingResult<ParkingTicket> rejected = garage.tryParkVehicle(new Car("CAR003"));
+        ParkingResult<Vehicle> unparked = garage.tryUnparkVehicle(second.getTicketId());
+        ParkingResult<ParkingTicket> retried = garage.tryParkVehicle(new Car("CAR003"));
+
+        // Assert
+        assertEquals(ParkingStatus.NO_AVAILABLE_SPACE, rejected.getStatus());
+        assertTrue(unparked.isSuccess());
+        assertTrue(retried.isSuccess());
+        assertEquals(1, garage.getLevelOfTicket(retried.getValue().getTicketId()));
+        assertFalse(garage.tryUnparkVehicle(second.getTicketId()).isSuccess());
+    }
+
+    @Test
+    public void constructor_LevelsWithSeparateGenerators_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new MultiLevelParkingLotService(List.of(
+                new ParkingLotService(1, 1, 1), new ParkingLotService(1, 1, 1)), LevelRoutingPolicy.NEAREST));
+    }
+}
@@ -0,0 +1,156 @@
+package com.parkinglot;
+
+import com.parkinglot.models.*;
+import com.parkinglot.persistence.ParkingHistory;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingHistoryTest {
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void findSessionsBetween_ShouldReturnOnlyOverlappingSessions() throws Exception {
+        // Arrange
+        try (ParkingHistory history = ParkingHistory.open(tempDir, Duration.ofHours(1), 2)) {
+            record(history, 1, "EARLY", 1, 2);
+            record(history, 2, "MORNING", 8, 10);
+            record(history, 3, "ALLDAY", 6, 20);
+            record(history, 4, "EVENING", 18, 19);
+
+            // Act
+            List<ParkingSession> sessions = history.findSessionsBetween(DAY_START.plusHours(9), DAY_START.plusHours(12));
+
+            // Assert
+            assertEquals(List.of("ALLDAY", "MORNING"),
+                    sessions.stream().map(ParkingSession::getLicensePlate).collect(Collectors.toList()));
+            assertEquals(4, history.getSessionCount());
+        }
+    }
+
+    @Test
+    public void findSessionsByLicensePlate_AcrossRolledSegmentsAndReopen_ShouldReturnAllSessions() throws Exception {
+        // Arrange
+        try (ParkingHistory history = ParkingHistory.open(tempDir, Duration.ofHours(1), 1)) {
+            record(history, 1, "CAR001", 1, 2);
+            record(history, 2, "CAR002", 3, 4);
+            record(history, 3, "CAR001", 5, 6);
+            record(history, 4, "CAR001", 7, 8);
+        }
+
+        // Act
+        List<ParkingSession> sessions;
+        List<ParkingSession> range;
+        try (ParkingHistory reopened = ParkingHistory.open(tempDir, Duration.ofHours(1), 1)) {
+            sessions = reopened.findSessionsByLicensePlate("CAR001");
+            range = reopened.findSessionsBetween(DAY_START.plusHours(3), DAY_START.plusHours(5));
+        }
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 4L),
+                sessions.stream().map(ParkingSession::getTicketNumber).collect(Collectors.toList()));
+        assertEquals(List.of(2L, 3L),
+                range.stream().map(ParkingSession::getTicketNumber).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void findSessions_RolledSegmentsWithLongStayAndLateSession_ShouldMatchOnlyOverlappingRows() throws Exception {
+        // Arrange
+        try (ParkingHistory history = ParkingHistory.open(tempDir, Duration.ofHours(1), 1)) {
+            record(history, 1, "CAR001", 2, 3);
+            record(history, 2, "CAR002", 4, 5);
+            record(history, 3, "LONG", 1, 30);
+            record(history, 4, "CAR003", 31, 32);
+            // Exits into a segment that has already been rolled to disk
+            record(history, 5, "CAR001", 4, 5);
+
+            // Act
+            List<ParkingSession> early = history.findSessionsBetween(DAY_START.plusHours(2), DAY_START.plusHours(2));
+            List<ParkingSession> middle = history.findSessionsBetween(DAY_START.plusHours(10), DAY_START.plusHours(11));
+            List<ParkingSession> plate = history.findSessionsByLicensePlate("CAR001");
+
+            // Assert
+            assertEquals(List.of(3L, 1L), early.stream().map(ParkingSession::getTicketNumber).collect(Collectors.toList()));
+            assertEquals(List.of(3L), middle.stream().map(ParkingSession::getTicketNumber).collect(Collectors.toList()));
+            assertEquals(List.of(1L, 5L), plate.stream().map(ParkingSession::getTicketNumber).collect(Collectors.toList()));
+            assertEquals("CAR001", plate.get(1).getLicensePlate());
+            assertTrue(history.findSessionsByLicensePlate("CAR999").isEmpty());
+            assertEquals(5, history.getSessionCount());
+        }
+    }
+
+    @Test
+    public void onVehicleUnparked_ShouldRecordSessionWithFee() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 1, 1);
+        try (ParkingHistory history = ParkingHistory.open(tempDir)) {
+            parkingLot.addEventListener(history);
+            ParkingTicket ticket = parkingLot.parkVehicle(new Truck("TRUCK001"));
+
+            // Act
+            parkingLot.unparkVehicle(ticket.getTicketId());
+            List<ParkingSession> sessions = history.findSessionsByLicensePlate("TRUCK001");
+
+            // Assert
+            assertEquals(1, sessions.size());
+            assertEquals(ticket.getTicketId(), sessions.get(0).getTicketId());
+            assertEquals("L001", sessions.get(0).getSpaceId());
+            assertEquals(0, sessions.get(0).getFeeCents());
+            assertTrue(history.findSessionsByLicensePlate("CAR001").isEmpty());
+        }
+    }
+
+    @Test
+    public void onVehicleUnparked_AfterCloseOrWithUnreadableSegment_ShouldNotFailTheGate() throws Exception {
+        // Arrange
+        try (ParkingHistory history = ParkingHistory.open(tempDir, Duration.ofHours(1), 1)) {
+            record(history, 1, "CAR001", 1, 2);
+        }
+        try (RandomAccessFile segment = new RandomAccessFile(onlySegmentFile().toFile(), "rw")) {
+            segment.seek(segment.length() - 1);
+            segment.write(segment.read() ^ 0xFF);
+        }
+        ParkingHistory history = ParkingHistory.open(tempDir, Duration.ofHours(1), 1);
+        ParkingTicket late = new ParkingTicket(2, "CAR002", "M001", DAY_START.plusHours(1));
+        late.markExit(DAY_START.plusHours(2).plusMinutes(30));
+
+        // Act
+        history.onVehicleUnparked(late, new Car("CAR002"), 400);
+        history.close();
+        history.onVehicleUnparked(late, new Car("CAR002"), 400);
+
+        // Assert
+        assertEquals(1, history.getFailedSessionCount());
+        assertEquals(1, history.getSessionCount());
+        assertThrows(IllegalStateException.class, () -> history.record(late, new Car("CAR002"), 400));
+    }
+
+    private Path onlySegmentFile() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            List<Path> segments = files.filter(file -> file.toString().endsWith(".seg")).collect(Collectors.toList());
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private static void record(ParkingHistory history, long ticketNumber, String licensePlate, int entryHour, int exitHour) {
+        ParkingTicket ticket = new ParkingTicket(ticketNumber, licensePlate, "M001", DAY_START.plusHours(entryHour));
+        ticket.markExit(DAY_START.plusHours(exitHour));
+        history.record(ticket, new Car(licensePlate), 400L * (exitHour - entryHour));
+    }
+}
@@ -0,0 +1,230 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.models.*;
+import com.parkinglot.persistence.ParkingJournal;
+import com.parkinglot.services.ParkingEventListener;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void replay_AfterRestart_ShouldRebuildSpacesAndActiveTickets() throws Exception {
+        // Arrange
+        Path journalFile = tempDir.resolve("lot.journal");
+        ParkingTicket carTicket;
+        ParkingTicket truckTicket;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            ParkingLotService parkingLot = new ParkingLotService(2, 2, 2);
+            parkingLot.addEventListener(journal);
+            carTicket = parkingLot.parkVehicle(new Car("CAR001"));
+            ParkingTicket motorcycleTicket = parkingLot.parkVehicle(new Motorcycle("MC001"));
+            truckTicket = parkingLot.parkVehicle(new Truck("TRUCK001"));
+            parkingLot.unparkVehicle(motorcycleTicket.getTicketId());
+        }
+
+        // Act
+        ParkingLotService recovered = new ParkingLotService(2, 2, 2);
+        int applied;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            applied = journal.replay(recovered);
+        }
+
+        // Assert
+        assertEquals(4, applied);
+        assertEquals(2, recovered.getOccupiedSpaces());
+        assertEquals(2, recovered.getAvailableSpaces(SpaceSize.SMALL));
+        assertEquals("CAR001", recovered.findVehicleByLicensePlate("CAR001").getLicensePlate());
+        assertNull(recovered.findVehicleByLicensePlate("MC001"));
+        assertNotNull(recovered.calculateParkingFee(carTicket.getTicketId()));
+        assertEquals("TRUCK001", recovered.unparkVehicle(truckTicket.getTicketId()).getLicensePlate());
+        assertTrue(recovered.parkVehicle(new Car("CAR002")).getTicketNumber() > truckTicket.getTicketNumber());
+    }
+
+    @Test
+    public void open_AfterTornRecord_ShouldKeepValidPrefixAndAppendAfterIt() throws Exception {
+        // Arrange
+        Path journalFile = tempDir.resolve("torn.journal");
+        long validEnd;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            ParkingLotService parkingLot = new ParkingLotService(1, 1, 1);
+            parkingLot.addEventListener(journal);
+            parkingLot.parkVehicle(new Car("CAR001"));
+            validEnd = journal.getWritePosition();
+            parkingLot.parkVehicle(new Truck("TRUCK001"));
+        }
+        corruptByte(journalFile, validEnd + 12);
+
+        // Act
+        ParkingLotService recovered = new ParkingLotService(1, 1, 1);
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            assertEquals(validEnd, journal.getWritePosition());
+            journal.replay(recovered);
+            recovered.addEventListener(journal);
+            recovered.parkVehicle(new Motorcycle("MC001"));
+        }
+        ParkingLotService recoveredAgain = new ParkingLotService(1, 1, 1);
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            journal.replay(recoveredAgain);
+        }
+
+        // Assert
+        assertNotNull(recoveredAgain.findVehicleByLicensePlate("CAR001"));
+        assertNotNull(recoveredAgain.findVehicleByLicensePlate("MC001"));
+        assertNull(recoveredAgain.findVehicleByLicensePlate("TRUCK001"));
+    }
+
+    @Test
+    public void replay_SameEventsTwice_ShouldBeIdempotent() throws Exception {
+        // Arrange
+        Path journalFile = tempDir.resolve("twice.journal");
+        try (ParkingJournal journal = ParkingJournal.open(journalFile, 1, true)) {
+            ParkingLotService parkingLot = new ParkingLotService(1, 1, 1);
+            parkingLot.addEventListener(journal);
+            parkingLot.parkVehicle(new Car("CAR001"));
+        }
+        ParkingLotService recovered = new ParkingLotService(1, 1, 1);
+
+        // Act
+        int firstPass;
+        int secondPass;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            firstPass = journal.replay(recovered);
+            secondPass = journal.replay(recovered);
+        }
+
+        // Assert
+        assertEquals(1, firstPass);
+        assertEquals(0, secondPass);
+        assertEquals(1, recovered.getOccupiedSpaces());
+    }
+
+    @Test
+    public void unparkVehicle_ShouldJournalExitBeforeSpaceOrPlateCanBeReused() throws Exception {
+        // Arrange
+        Path journalFile = tempDir.resolve("reuse.journal");
+        List<ParkingStatus> retries = new ArrayList<>();
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            ParkingLotService parkingLot = new ParkingLotService(0, 1, 0);
+            parkingLot.addEventListener(journal);
+            parkingLot.addEventListener(new ParkingEventListener() {
+                @Override
+                public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+                }
+
+                // Stands in for other gates acting while the exit is being recorded
+                @Override
+                public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+                    retries.add(parkingLot.tryParkVehicle(new Car("CAR002")).getStatus());
+                    retries.add(parkingLot.tryParkVehicle(new Car("CAR001")).getStatus());
+                }
+            });
+            ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+
+            // Act
+            parkingLot.unparkVehicle(ticket.getTicketId());
+            parkingLot.parkVehicle(new Car("CAR002"));
+        }
+
+        // Assert
+        assertEquals(List.of(ParkingStatus.NO_AVAILABLE_SPACE, ParkingStatus.ALREADY_PARKED), retries);
+        ParkingLotService recovered = new ParkingLotService(0, 1, 0);
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            assertEquals(3, journal.replay(recovered));
+        }
+        assertNull(recovered.findVehicleByLicensePlate("CAR001"));
+        assertNotNull(recovered.findVehicleByLicensePlate("CAR002"));
+    }
+
+    @Test
+    public void onVehicleParked_AfterClose_ShouldNotFailTheGate() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 1, 1);
+        ParkingJournal journal = ParkingJournal.open(tempDir.resolve("closed.journal"), 1, true);
+        parkingLot.addEventListener(journal);
+        journal.close();
+
+        // Act
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.unparkVehicle(ticket.getTicketId());
+
+        // Assert
+        assertThrows(IllegalStateException.class, () -> journal.appendPark(ticket, new Car("CAR001")));
+        assertEquals(0, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void parkAndUnpark_ListenerThrowsBeforeJournal_ShouldStillJournalAndSucceed() throws Exception {
+        // Arrange
+        Path journalFile = tempDir.resolve("listener.journal");
+        ParkingLotService parkingLot = new ParkingLotService(0, 2, 0);
+        parkingLot.addEventListener(new ParkingEventListener() {
+            @Override
+            public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+                throw new IllegalStateException("Listener failed");
+            }
+
+            @Override
+            public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+                throw new IllegalStateException("Listener failed");
+            }
+        });
+        ParkingTicket leaving;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            parkingLot.addEventListener(journal);
+
+            // Act
+            ParkingTicket staying = parkingLot.parkVehicle(new Car("CAR001"));
+            leaving = parkingLot.tryParkVehicle(new Car("CAR002")).getValue();
+            ParkingResult<Vehicle> unparked = parkingLot.tryUnparkVehicle(leaving.getTicketId());
+
+            // Assert
+            assertEquals("M001", staying.getSpaceId());
+            assertEquals(ParkingStatus.SUCCESS, unparked.getStatus());
+            assertEquals(3, parkingLot.getListenerFailureCount());
+        }
+        ParkingLotService recovered = new ParkingLotService(0, 2, 0);
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            assertEquals(3, journal.replay(recovered));
+        }
+        assertNotNull(recovered.findVehicleByLicensePlate("CAR001"));
+        assertNull(recovered.findVehicleByLicensePlate("CAR002"));
+    }
+
+    @Test
+    public void recoverParkedVehicle_OccupiedSpace_ShouldThrowException() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 1, 0);
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        ParkingTicket conflicting = new ParkingTicket(ticket.getTicketNumber() + 1, "CAR002", ticket.getSpaceId(),
+                ticket.getEntryTime());
+
+        // Act & Assert
+        assertThrows(ParkingException.class, () -> parkingLot.recoverParkedVehicle(conflicting, new Car("CAR002")));
+        assertNull(parkingLot.findVehicleByLicensePlate("CAR002"));
+    }
+
+    private static void corruptByte(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+    }
+}
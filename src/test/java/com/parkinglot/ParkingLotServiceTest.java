@@ -1,5 +1,6 @@
 package com.parkinglot;
 
+import com.parkinglot.enums.ParkingStatus;
 import com.parkinglot.enums.SpaceSize;
 import com.parkinglot.enums.VehicleType;
 import com.parkinglot.exceptions.ParkingException;
@@ -9,8 +10,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -265,4 +276,310 @@ public class ParkingLotServiceTest {
         // Act & Assert
         assertThrows(ParkingException.class, () -> parkingLot.parkVehicle(motorcycle2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parkVehicle_Motorcycle_ShouldPreferSmallestSpaceFirst() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(1, 1, 1);
+
+        // Act
+        ParkingTicket first = parkingLot.parkVehicle(new Motorcycle("MC001"));
+        ParkingTicket second = parkingLot.parkVehicle(new Motorcycle("MC002"));
+        ParkingTicket third = parkingLot.parkVehicle(new Motorcycle("MC003"));
+
+        // Assert
+        assertEquals("S001", first.getSpaceId());
+        assertEquals("M001", second.getSpaceId());
+        assertEquals("L001", third.getSpaceId());
+        assertTrue(parkingLot.isFull());
+    }
+
+    @Test
+    public void unparkVehicle_ShouldReturnSpaceToAvailablePool() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(0, 1, 0);
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        assertThrows(ParkingException.class, () -> parkingLot.parkVehicle(new Car("CAR002")));
+
+        // Act
+        parkingLot.unparkVehicle(ticket.getTicketId());
+        ParkingTicket nextTicket = parkingLot.parkVehicle(new Car("CAR002"));
+
+        // Assert
+        assertEquals("M001", nextTicket.getSpaceId());
+        assertEquals(0, parkingLot.getAvailableSpaces().get(SpaceSize.MEDIUM).intValue());
+    }
+
+    @Test
+    public void unparkVehicle_SameTicketTwice_ShouldThrowException() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot();
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.unparkVehicle(ticket.getTicketId());
+
+        // Act & Assert
+        assertThrows(ParkingException.class, () -> parkingLot.unparkVehicle(ticket.getTicketId()));
+        assertEquals(2, parkingLot.getAvailableSpaces().get(SpaceSize.MEDIUM).intValue());
+    }
+
+    @Test
+    public void parkVehicle_ConcurrentGates_ShouldNeverShareASpace() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(300, 1000, 1000);
+        int gates = 8;
+        int vehiclesPerGate = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(gates);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<ParkingTicket> tickets = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        // Act
+        for (int gate = 0; gate < gates; gate++) {
+            int gateId = gate;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < vehiclesPerGate; i++) {
+                        ParkingTicket ticket = parkingLot.parkVehicle(new Car("G" + gateId + "-" + i));
+                        tickets.add(ticket);
+                        if (i % 3 == 0) {
+                            parkingLot.unparkVehicle(ticket.getTicketId());
+                            tickets.remove(ticket);
+                        }
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures);
+        Set<String> spaceIds = new HashSet<>();
+        Set<String> ticketIds = new HashSet<>();
+        for (ParkingTicket ticket : new ArrayList<>(tickets)) {
+            assertTrue(spaceIds.add(ticket.getSpaceId()), "Space assigned twice: " + ticket.getSpaceId());
+            assertTrue(ticketIds.add(ticket.getTicketId()), "Ticket issued twice: " + ticket.getTicketId());
+        }
+        assertEquals(tickets.size(), parkingLot.getOccupiedSpaces());
+        assertEquals(300, parkingLot.getAvailableSpaces().get(SpaceSize.SMALL).intValue());
+    }
+
+    @Test
+    public void unparkVehicle_FourDigitSpaceId_ShouldFreeThatSpace() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(0, 1001, 0);
+        ParkingTicket lastTicket = null;
+        for (int i = 0; i < 1001; i++) {
+            lastTicket = parkingLot.parkVehicle(new Car("CAR" + i));
+        }
+        assertTrue(parkingLot.isFull());
+
+        // Act
+        Vehicle unparked = parkingLot.unparkVehicle(lastTicket.getTicketId());
+
+        // Assert
+        assertEquals(lastTicket.getLicensePlate(), unparked.getLicensePlate());
+        assertEquals(1, parkingLot.getAvailableSpaces().get(SpaceSize.MEDIUM).intValue());
+        assertEquals(lastTicket.getSpaceId(), parkingLot.parkVehicle(new Car("CAR-NEXT")).getSpaceId());
+    }
+
+    @Test
+    public void findVehicleByLicensePlate_AfterUnpark_ShouldReturnNullAndAllowReentry() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot();
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.unparkVehicle(ticket.getTicketId());
+
+        // Act
+        Vehicle foundVehicle = parkingLot.findVehicleByLicensePlate("CAR001");
+        ParkingTicket reentryTicket = parkingLot.parkVehicle(new Car("CAR001"));
+
+        // Assert
+        assertNull(foundVehicle);
+        assertNotNull(reentryTicket);
+        assertEquals("CAR001", parkingLot.findVehicleByLicensePlate("CAR001").getLicensePlate());
+    }
+
+    @Test
+    public void parkVehicle_DuplicateRejectedWhenFull_ShouldNotAffectParkedVehicle() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(0, 0, 1);
+        parkingLot.parkVehicle(new Truck("TRUCK001"));
+
+        // Act
+        assertThrows(ParkingException.class, () -> parkingLot.parkVehicle(new Truck("TRUCK001")));
+        assertThrows(ParkingException.class, () -> parkingLot.parkVehicle(new Truck("TRUCK002")));
+
+        // Assert
+        assertNotNull(parkingLot.findVehicleByLicensePlate("TRUCK001"));
+        assertNull(parkingLot.findVehicleByLicensePlate("TRUCK002"));
+    }
+
+    @Test
+    public void getVehiclesOfTypeView_ShouldReflectParkAndUnpark() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot();
+        Collection<Vehicle> cars = parkingLot.getVehiclesOfTypeView(VehicleType.CAR);
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.parkVehicle(new Car("CAR002"));
+        parkingLot.parkVehicle(new Motorcycle("MC001"));
+
+        // Act
+        int parkedCars = cars.size();
+        parkingLot.unparkVehicle(ticket.getTicketId());
+
+        // Assert
+        assertEquals(2, parkedCars);
+        assertEquals(1, cars.size());
+        assertEquals("CAR002", cars.iterator().next().getLicensePlate());
+        assertThrows(UnsupportedOperationException.class, () -> cars.add(new Car("CAR003")));
+    }
+
+    @Test
+    public void getAvailableSpaces_BySize_ShouldTrackParkAndUnpark() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(1, 2, 3);
+        ParkingTicket ticket = parkingLot.parkVehicle(new Truck("TRUCK001"));
+        parkingLot.parkVehicle(new Car("CAR001"));
+
+        // Act
+        int largeWhileParked = parkingLot.getAvailableSpaces(SpaceSize.LARGE);
+        parkingLot.unparkVehicle(ticket.getTicketId());
+
+        // Assert
+        assertEquals(2, largeWhileParked);
+        assertEquals(3, parkingLot.getAvailableSpaces(SpaceSize.LARGE));
+        assertEquals(1, parkingLot.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertEquals(1, parkingLot.getAvailableSpaces(SpaceSize.SMALL));
+        assertEquals(1, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void parkVehicles_Batch_ShouldReportPerVehicleResults() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(1, 1, 1);
+        parkingLot.parkVehicle(new Car("PARKED"));
+        List<Vehicle> arrivals = Arrays.asList(
+                new Motorcycle("MC001"),
+                new Car("PARKED"),
+                null,
+                new Truck("TRUCK001"),
+                new Car("CAR002"));
+
+        // Act
+        List<ParkingResult<ParkingTicket>> results = parkingLot.parkVehicles(arrivals);
+
+        // Assert
+        assertEquals(5, results.size());
+        assertEquals("S001", results.get(0).getValue().getSpaceId());
+        assertEquals(ParkingStatus.ALREADY_PARKED, results.get(1).getStatus());
+        assertEquals(ParkingStatus.INVALID_VEHICLE, results.get(2).getStatus());
+        assertEquals("L001", results.get(3).getValue().getSpaceId());
+        assertEquals(ParkingStatus.NO_AVAILABLE_SPACE, results.get(4).getStatus());
+        assertEquals(results.get(0).getValue().getTicketNumber() + 1, results.get(3).getValue().getTicketNumber());
+        assertTrue(parkingLot.isFull());
+        assertNull(parkingLot.findVehicleByLicensePlate("CAR002"));
+    }
+
+    @Test
+    public void unparkVehicles_Batch_ShouldReportPerTicketResults() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot();
+        ParkingTicket first = parkingLot.parkVehicle(new Car("CAR001"));
+        ParkingTicket second = parkingLot.parkVehicle(new Motorcycle("MC001"));
+
+        // Act
+        List<ParkingResult<Vehicle>> results = parkingLot.unparkVehicles(
+                Arrays.asList(first.getTicketId(), "INVALID", second.getTicketId(), first.getTicketId()));
+
+        // Assert
+        assertEquals("CAR001", results.get(0).getValue().getLicensePlate());
+        assertEquals(ParkingStatus.INVALID_TICKET, results.get(1).getStatus());
+        assertEquals("MC001", results.get(2).getValue().getLicensePlate());
+        assertEquals(ParkingStatus.INVALID_TICKET, results.get(3).getStatus());
+        assertEquals(0, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void getParkingSpace_ShouldReturnDetachedSnapshot() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot();
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+
+        // Act
+        ParkingSpace occupied = parkingLot.getParkingSpace(ticket.getSpaceId());
+        occupied.removeVehicle();
+        ParkingSpace free = parkingLot.getParkingSpace("M002");
+
+        // Assert
+        assertEquals(SpaceSize.MEDIUM, occupied.getSize());
+        assertFalse(free.isOccupied());
+        assertEquals("CAR001", parkingLot.getParkingSpace(ticket.getSpaceId()).getCurrentVehicle().getLicensePlate());
+        assertEquals(1, parkingLot.getOccupiedSpaces());
+        assertNull(parkingLot.getParkingSpace("M003"));
+        assertNull(parkingLot.getParkingSpace("X001"));
+    }
+
+    @Test
+    public void parkVehicle_MillionSpaceLot_ShouldResolveSevenDigitSpaceIds() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(0, 2_000_000, 0);
+        parkingLot.parkVehicle(new Car("CAR001"));
+
+        // Act
+        SpaceSize lastSpace = parkingLot.getSpaceSize("M2000000");
+        SpaceSize pastLastSpace = parkingLot.getSpaceSize("M2000001");
+
+        // Assert
+        assertEquals(SpaceSize.MEDIUM, lastSpace);
+        assertNull(pastLastSpace);
+        assertEquals(1_999_999, parkingLot.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertEquals(2_000_000, parkingLot.getCapacity(SpaceSize.MEDIUM));
+    }
+
+    @Test
+    public void tryParkVehicle_FullLotOrDuplicatePlate_ShouldReturnFailureWithoutThrowing() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(0, 1, 0);
+        ParkingResult<ParkingTicket> parked = parkingLot.tryParkVehicle(new Car("CAR001"));
+
+        // Act
+        ParkingResult<ParkingTicket> full = parkingLot.tryParkVehicle(new Car("CAR002"));
+        ParkingResult<ParkingTicket> duplicate = parkingLot.tryParkVehicle(new Car("CAR001"));
+        ParkingResult<ParkingTicket> missing = parkingLot.tryParkVehicle(null);
+
+        // Assert
+        assertTrue(parked.isSuccess());
+        assertEquals("M001", parked.getValue().getSpaceId());
+        assertEquals(ParkingStatus.NO_AVAILABLE_SPACE, full.getStatus());
+        assertEquals("No available parking spaces for CAR", full.getMessage());
+        assertEquals(ParkingStatus.ALREADY_PARKED, duplicate.getStatus());
+        assertEquals(ParkingStatus.INVALID_VEHICLE, missing.getStatus());
+        assertNull(parkingLot.findVehicleByLicensePlate("CAR002"));
+        assertEquals(1, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void tryUnparkVehicle_ShouldReportInvalidTicketsAsResults() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = createParkingLot(1, 0, 0);
+        ParkingTicket ticket = parkingLot.parkVehicle(new Motorcycle("MC001"));
+
+        // Act
+        ParkingResult<Vehicle> unparked = parkingLot.tryUnparkVehicle(ticket.getTicketId());
+        ParkingResult<Vehicle> again = parkingLot.tryUnparkVehicle(ticket.getTicketId());
+        ParkingResult<Vehicle> garbage = parkingLot.tryUnparkVehicle("not-a-ticket");
+
+        // Assert
+        assertTrue(unparked.isSuccess());
+        assertEquals("MC001", unparked.getValue().getLicensePlate());
+        assertEquals(ParkingStatus.INVALID_TICKET, again.getStatus());
+        assertEquals("Invalid ticket ID: " + ticket.getTicketId(), again.getMessage());
+        assertEquals(ParkingStatus.INVALID_TICKET, garbage.getStatus());
+        assertEquals(0, parkingLot.getOccupiedSpaces());
+    }
+}
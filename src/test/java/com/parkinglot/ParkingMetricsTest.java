@@ -0,0 +1,152 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.ParkingOperation;
+import com.parkinglot.enums.ParkingStatus;
+import com.parkinglot.exceptions.InvalidTicketException;
+import com.parkinglot.exceptions.NoAvailableSpaceException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.metrics.InstrumentedParkingLotService;
+import com.parkinglot.metrics.LatencyHistogram;
+import com.parkinglot.metrics.LatencySnapshot;
+import com.parkinglot.metrics.ParkingMetrics;
+import com.parkinglot.models.*;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingMetricsTest {
+
+    @Test
+    public void latencyHistogram_Percentiles_ShouldBeWithinThreePercent() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        // Act
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(5_000, snapshot.getValueAtPercentile(50), 150);
+        assertEquals(9_900, snapshot.getValueAtPercentile(99), 300);
+        assertEquals(10_000, snapshot.getMax(), 300);
+        assertEquals(5_000.5, snapshot.getMean(), 150);
+        assertEquals(1, snapshot.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void instrumentedService_ShouldCountCallsPerOutcome() throws ParkingException {
+        // Arrange
+        InstrumentedParkingLotService parkingLot = new InstrumentedParkingLotService(new ParkingLotService(0, 0, 1));
+        ParkingTicket ticket = parkingLot.parkVehicle(new Truck("TRUCK001"));
+
+        // Act
+        assertThrows(NoAvailableSpaceException.class, () -> parkingLot.parkVehicle(new Truck("TRUCK002")));
+        assertThrows(ParkingException.class, () -> parkingLot.parkVehicle(new Truck("TRUCK001")));
+        assertThrows(InvalidTicketException.class, () -> parkingLot.unparkVehicle("T999999"));
+        parkingLot.calculateParkingFee(ticket.getTicketId());
+        parkingLot.unparkVehicle(ticket.getTicketId());
+        ParkingMetrics metrics = parkingLot.getMetrics();
+
+        // Assert
+        assertEquals(3, metrics.getLatency(ParkingOperation.PARK).getCount());
+        assertEquals(1, metrics.getCount(ParkingOperation.PARK, ParkingStatus.SUCCESS));
+        assertEquals(1, metrics.getCount(ParkingOperation.PARK, ParkingStatus.NO_AVAILABLE_SPACE));
+        assertEquals(1, metrics.getCount(ParkingOperation.PARK, ParkingStatus.ALREADY_PARKED));
+        assertEquals(1, metrics.getCount(ParkingOperation.UNPARK, ParkingStatus.SUCCESS));
+        assertEquals(1, metrics.getCount(ParkingOperation.UNPARK, ParkingStatus.INVALID_TICKET));
+        assertEquals(1, metrics.getCount(ParkingOperation.CALCULATE_FEE, ParkingStatus.SUCCESS));
+        assertTrue(metrics.dump().contains("PARK: SUCCESS=1 NO_AVAILABLE_SPACE=1 ALREADY_PARKED=1"));
+    }
+
+    @Test
+    public void instrumentedService_SingleCallFailures_ShouldCountTheStatusTheLotReported() throws ParkingException {
+        // Arrange
+        InstrumentedParkingLotService parkingLot = new InstrumentedParkingLotService(new ParkingLotService(0, 1, 0));
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.unparkVehicle(ticket.getTicketId());
+
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> parkingLot.parkVehicle(null));
+        assertThrows(InvalidTicketException.class, () -> parkingLot.unparkVehicle(ticket.getTicketId()));
+        assertThrows(InvalidTicketException.class, () -> parkingLot.calculateParkingFee(ticket.getTicketId()));
+        ParkingMetrics metrics = parkingLot.getMetrics();
+
+        // Assert
+        assertEquals(1, metrics.getCount(ParkingOperation.PARK, ParkingStatus.SUCCESS));
+        assertEquals(1, metrics.getCount(ParkingOperation.PARK, ParkingStatus.INVALID_VEHICLE));
+        assertEquals(0, metrics.getCount(ParkingOperation.PARK, ParkingStatus.ALREADY_PARKED));
+        assertEquals(1, metrics.getCount(ParkingOperation.UNPARK, ParkingStatus.INVALID_TICKET));
+        assertEquals(1, metrics.getCount(ParkingOperation.CALCULATE_FEE, ParkingStatus.INVALID_TICKET));
+        assertEquals(0, metrics.getCount(ParkingOperation.CALCULATE_FEE, ParkingStatus.SUCCESS));
+    }
+
+    @Test
+    public void instrumentedService_UnexpectedException_ShouldNotBeCounted() {
+        // Arrange
+        InstrumentedParkingLotService parkingLot = new InstrumentedParkingLotService(new ParkingLotService(0, 1, 0) {
+            @Override
+            public Vehicle findVehicleByLicensePlate(String licensePlate) {
+                throw new IllegalStateException("Lookup failed");
+            }
+        });
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> parkingLot.findVehicleByLicensePlate("CAR001"));
+        ParkingMetrics metrics = parkingLot.getMetrics();
+
+        // Assert
+        assertEquals(0, metrics.getLatency(ParkingOperation.FIND_VEHICLE).getCount());
+        assertEquals(0, metrics.getFailureCount(ParkingOperation.FIND_VEHICLE));
+    }
+
+    @Test
+    public void instrumentedService_BatchCalls_ShouldCountEveryItem() {
+        // Arrange
+        InstrumentedParkingLotService parkingLot = new InstrumentedParkingLotService(new ParkingLotService(0, 2, 0));
+
+        // Act
+        parkingLot.parkVehicles(List.of(new Car("CAR001"), new Car("CAR002"), new Car("CAR003")));
+        parkingLot.unparkVehicles(List.of("T999999"));
+        ParkingMetrics metrics = parkingLot.getMetrics();
+
+        // Assert
+        assertEquals(2, metrics.getCount(ParkingOperation.PARK, ParkingStatus.SUCCESS));
+        assertEquals(1, metrics.getCount(ParkingOperation.PARK, ParkingStatus.NO_AVAILABLE_SPACE));
+        assertEquals(1, metrics.getFailureCount(ParkingOperation.UNPARK));
+    }
+
+    @Test
+    public void registerMBeans_ShouldExposeCountsThroughJmx() throws Exception {
+        // Arrange
+        InstrumentedParkingLotService parkingLot = new InstrumentedParkingLotService(new ParkingLotService(0, 1, 0));
+        parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.findVehicleByLicensePlate("CAR001");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName park = new ObjectName("com.parkinglot:type=ParkingMetrics,name=\"test-lot\",operation=PARK");
+
+        // Act
+        parkingLot.getMetrics().registerMBeans("test-lot");
+        try {
+            Object count = server.getAttribute(park, "Count");
+            Object failures = server.getAttribute(park, "FailureCount");
+            Object p99 = server.getAttribute(park, "P99Nanos");
+
+            // Assert
+            assertEquals(1L, count);
+            assertEquals(0L, failures);
+            assertTrue((Long) p99 > 0);
+        } finally {
+            parkingLot.getMetrics().unregisterMBeans();
+        }
+        assertFalse(server.isRegistered(park));
+    }
+}
@@ -0,0 +1,129 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.models.*;
+import com.parkinglot.persistence.ParkingJournal;
+import com.parkinglot.persistence.ParkingSnapshot;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void restore_AfterWrite_ShouldRebuildTicketsAndCounter() throws Exception {
+        // Arrange
+        Path snapshotFile = tempDir.resolve("lot.snapshot");
+        ParkingLotService parkingLot = new ParkingLotService(2, 2, 2);
+        ParkingTicket carTicket = parkingLot.parkVehicle(new Car("CAR001"));
+        ParkingTicket truckTicket = parkingLot.parkVehicle(new Truck("TRUCK001"));
+        ParkingTicket motorcycleTicket = parkingLot.parkVehicle(new Motorcycle("MC001"));
+        parkingLot.unparkVehicle(motorcycleTicket.getTicketId());
+        ParkingSnapshot.write(parkingLot, snapshotFile);
+
+        // Act
+        ParkingLotService restored = new ParkingLotService(2, 2, 2);
+        ParkingSnapshot snapshot = ParkingSnapshot.restore(snapshotFile, restored);
+
+        // Assert
+        assertEquals(2, snapshot.getRestoredTickets());
+        assertEquals(motorcycleTicket.getTicketNumber(), snapshot.getLastIssuedTicketNumber());
+        assertEquals(2, restored.getOccupiedSpaces());
+        assertEquals(2, restored.getAvailableSpaces(SpaceSize.SMALL));
+        assertEquals(carTicket.getEntryTime().withNano(carTicket.getEntryTime().getNano() / 1_000_000 * 1_000_000),
+                restored.findVehicleByLicensePlate("CAR001").getEntryTime());
+        assertEquals("TRUCK001", restored.unparkVehicle(truckTicket.getTicketId()).getLicensePlate());
+        assertTrue(restored.parkVehicle(new Car("CAR002")).getTicketNumber() > motorcycleTicket.getTicketNumber());
+    }
+
+    @Test
+    public void restore_ThenReplayJournalTail_ShouldIncludeLaterEvents() throws Exception {
+        // Arrange
+        Path journalFile = tempDir.resolve("lot.journal");
+        Path snapshotFile = tempDir.resolve("lot.snapshot");
+        ParkingTicket carTicket;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            ParkingLotService parkingLot = new ParkingLotService(2, 2, 2);
+            parkingLot.addEventListener(journal);
+            carTicket = parkingLot.parkVehicle(new Car("CAR001"));
+            parkingLot.parkVehicle(new Car("CAR002"));
+            ParkingSnapshot.write(parkingLot, journal, snapshotFile);
+            parkingLot.unparkVehicle(carTicket.getTicketId());
+            parkingLot.parkVehicle(new Truck("TRUCK001"));
+        }
+
+        // Act
+        ParkingLotService restored = new ParkingLotService(2, 2, 2);
+        int replayed;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            ParkingSnapshot snapshot = ParkingSnapshot.restore(snapshotFile, restored);
+            replayed = journal.replay(restored, snapshot.getJournalPosition());
+        }
+
+        // Assert
+        assertEquals(2, replayed);
+        assertNull(restored.findVehicleByLicensePlate("CAR001"));
+        assertNotNull(restored.findVehicleByLicensePlate("CAR002"));
+        assertNotNull(restored.findVehicleByLicensePlate("TRUCK001"));
+        assertEquals(2, restored.getOccupiedSpaces());
+    }
+
+    @Test
+    public void restore_ThenReplay_SpaceReusedWhileSnapshotRan_ShouldSkipSupersededPark() throws Exception {
+        // Arrange
+        Path journalFile = tempDir.resolve("fuzzy.journal");
+        Path snapshotFile = tempDir.resolve("fuzzy.snapshot");
+        long snapshotStart;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            ParkingLotService parkingLot = new ParkingLotService(0, 1, 0);
+            parkingLot.addEventListener(journal);
+            // The snapshot starts here, then sees the gates' later events while it runs
+            snapshotStart = journal.getWritePosition();
+            ParkingTicket firstTicket = parkingLot.parkVehicle(new Car("CAR001"));
+            parkingLot.unparkVehicle(firstTicket.getTicketId());
+            parkingLot.parkVehicle(new Car("CAR002"));
+            ParkingSnapshot.write(parkingLot, snapshotFile);
+        }
+
+        // Act
+        ParkingLotService restored = new ParkingLotService(0, 1, 0);
+        int replayed;
+        try (ParkingJournal journal = ParkingJournal.open(journalFile)) {
+            ParkingSnapshot.restore(snapshotFile, restored);
+            replayed = journal.replay(restored, snapshotStart);
+        }
+
+        // Assert
+        assertEquals(0, replayed);
+        assertNull(restored.findVehicleByLicensePlate("CAR001"));
+        assertNotNull(restored.findVehicleByLicensePlate("CAR002"));
+        assertEquals(1, restored.getOccupiedSpaces());
+    }
+
+    @Test
+    public void restore_CorruptFile_ShouldThrowException() throws Exception {
+        // Arrange
+        Path snapshotFile = tempDir.resolve("corrupt.snapshot");
+        ParkingLotService parkingLot = new ParkingLotService(1, 1, 1);
+        parkingLot.parkVehicle(new Car("CAR001"));
+        ParkingSnapshot.write(parkingLot, snapshotFile);
+        try (RandomAccessFile raf = new RandomAccessFile(snapshotFile.toFile(), "rw")) {
+            raf.seek(30);
+            raf.write(raf.read() ^ 0xFF);
+        }
+
+        // Act & Assert
+        ParkingLotService restored = new ParkingLotService(1, 1, 1);
+        assertThrows(IOException.class, () -> ParkingSnapshot.restore(snapshotFile, restored));
+        assertEquals(0, restored.getOccupiedSpaces());
+    }
+}
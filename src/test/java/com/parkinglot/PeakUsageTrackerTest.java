@@ -0,0 +1,89 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.models.*;
+import com.parkinglot.services.ParkingLotService;
+import com.parkinglot.statistics.PeakUsageTracker;
+import com.parkinglot.statistics.UsageBucket;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PeakUsageTrackerTest {
+    private static final LocalDateTime NINE_AM = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Test
+    public void findPeakHour_ShouldReturnHourWithHighestOccupancy() {
+        // Arrange
+        PeakUsageTracker tracker = new PeakUsageTracker(new ParkingLotService(5, 5, 5));
+        ParkingTicket first = park(tracker, 1, "M001", NINE_AM.plusMinutes(5));
+        ParkingTicket second = park(tracker, 2, "M002", NINE_AM.plusMinutes(10));
+        unpark(tracker, first, NINE_AM.plusMinutes(70));
+        unpark(tracker, second, NINE_AM.plusMinutes(80));
+        park(tracker, 3, "M001", NINE_AM.plusMinutes(130));
+
+        // Act
+        UsageBucket peak = tracker.findPeakHour(SpaceSize.MEDIUM);
+
+        // Assert
+        assertEquals(NINE_AM, peak.getStart());
+        assertEquals(2, peak.getMaxOccupied(SpaceSize.MEDIUM));
+        assertEquals(0, peak.getMinOccupied(SpaceSize.MEDIUM));
+        assertEquals(1.5, peak.getAverageOccupied(SpaceSize.MEDIUM), 1e-9);
+        assertEquals(2, peak.getArrivals());
+        assertEquals(0, peak.getDepartures());
+        assertEquals(0, peak.getMaxOccupied(SpaceSize.SMALL));
+    }
+
+    @Test
+    public void getMinuteBuckets_ShouldOnlyKeepNewestBucketsInOrder() {
+        // Arrange
+        PeakUsageTracker tracker = new PeakUsageTracker(new ParkingLotService(5, 5, 5), 3, 2);
+        for (int minute = 0; minute < 5; minute++) {
+            park(tracker, minute + 1, "S00" + (minute + 1), NINE_AM.plusMinutes(minute));
+        }
+
+        // Act
+        List<UsageBucket> buckets = tracker.getMinuteBuckets();
+
+        // Assert
+        assertEquals(3, buckets.size());
+        assertEquals(NINE_AM.plusMinutes(2), buckets.get(0).getStart());
+        assertEquals(NINE_AM.plusMinutes(4), buckets.get(2).getStart());
+        assertEquals(5, buckets.get(2).getMaxOccupied(SpaceSize.SMALL));
+        assertEquals(1, tracker.getHourBuckets().size());
+    }
+
+    @Test
+    public void tracker_RegisteredOnLot_ShouldStartFromCurrentOccupancy() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 1, 1);
+        parkingLot.parkVehicle(new Car("CAR001"));
+        PeakUsageTracker tracker = new PeakUsageTracker(parkingLot);
+        parkingLot.addEventListener(tracker);
+
+        // Act
+        parkingLot.parkVehicle(new Car("CAR002"));
+
+        // Assert
+        UsageBucket peak = tracker.findPeakMinute(SpaceSize.LARGE);
+        assertEquals(1, peak.getMaxOccupied(SpaceSize.MEDIUM));
+        assertEquals(1, peak.getMaxOccupied(SpaceSize.LARGE));
+        assertEquals(1, peak.getArrivals());
+        assertNull(new PeakUsageTracker(parkingLot).findPeakHour(SpaceSize.SMALL));
+    }
+
+    private static ParkingTicket park(PeakUsageTracker tracker, long ticketNumber, String spaceId, LocalDateTime time) {
+        ParkingTicket ticket = new ParkingTicket(ticketNumber, "CAR" + ticketNumber, spaceId, time);
+        tracker.onVehicleParked(ticket, new Car(ticket.getLicensePlate()));
+        return ticket;
+    }
+
+    private static void unpark(PeakUsageTracker tracker, ParkingTicket ticket, LocalDateTime time) {
+        ticket.markExit(time);
+        tracker.onVehicleUnparked(ticket, new Car(ticket.getLicensePlate()), 0);
+    }
+}
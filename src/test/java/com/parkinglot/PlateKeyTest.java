@@ -0,0 +1,78 @@
+package com.parkinglot;
+
+import com.parkinglot.models.Car;
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.models.PlateKey;
+import com.parkinglot.models.Vehicle;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlateKeyTest {
+
+    @Test
+    public void of_PackablePlates_ShouldRoundTripText() {
+        // Arrange
+        String[] plates = {"A", "CAR001", "abc-123", "0000000000", "ABCDEFGHIJK", "ZZZZZZZZZZzzzzzzzzz-"};
+
+        for (String plate : plates) {
+            // Act
+            PlateKey key = PlateKey.of(plate);
+
+            // Assert
+            assertEquals(plate, key.toString());
+            assertEquals(plate.length(), key.length());
+            assertEquals(plate.charAt(plate.length() - 1), key.charAt(plate.length() - 1));
+        }
+    }
+
+    @Test
+    public void of_UnpackablePlates_ShouldKeepOriginalText() {
+        // Arrange
+        String[] plates = {"AB 123", "NY_4471", "ÄB-123", "ABCDEFGHIJKLMNOPQRSTU"};
+
+        for (String plate : plates) {
+            // Act
+            PlateKey key = PlateKey.of(plate);
+
+            // Assert
+            assertEquals(plate, key.toString());
+            assertEquals(PlateKey.of(plate), key);
+            assertEquals(PlateKey.of(plate).hashCode(), key.hashCode());
+        }
+        assertThrows(IllegalArgumentException.class, () -> PlateKey.of(""));
+    }
+
+    @Test
+    public void equals_ShouldCompareWholePlate() {
+        // Arrange
+        PlateKey key = PlateKey.of("CAR001");
+
+        // Act & Assert
+        assertEquals(PlateKey.of("CAR001"), key);
+        assertEquals(PlateKey.of("CAR001").hashCode(), key.hashCode());
+        assertNotEquals(PlateKey.of("CAR0010"), key);
+        assertNotEquals(PlateKey.of("car001"), key);
+        assertNotEquals(PlateKey.of("CAR001 "), key);
+    }
+
+    @Test
+    public void findVehicleByLicensePlate_ShouldResolveThroughPlateKeys() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 2, 1);
+        Vehicle car = new Car("CAR001");
+        Vehicle spacedCar = new Car("CAR 002");
+
+        // Act
+        ParkingTicket ticket = parkingLot.parkVehicle(car);
+        parkingLot.parkVehicle(spacedCar);
+
+        // Assert
+        assertSame(car.getPlateKey(), ticket.getPlateKey());
+        assertSame(car, parkingLot.findVehicleByLicensePlate("CAR001"));
+        assertSame(spacedCar, parkingLot.findVehicleByLicensePlate("CAR 002"));
+        assertNull(parkingLot.findVehicleByLicensePlate("CAR00"));
+        assertNull(parkingLot.findVehicleByLicensePlate(""));
+    }
+}
@@ -0,0 +1,162 @@
+package com.parkinglot;
+
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.exceptions.NoAvailableSpaceException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.exceptions.SpaceOccupiedException;
+import com.parkinglot.models.*;
+import com.parkinglot.services.AsyncParkingLotService;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationTest {
+
+    @Test
+    public void reserveSpace_BySize_ShouldHoldSpaceForPlate() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 1, 0);
+
+        // Act
+        Reservation reservation = parkingLot.reserveSpace("CAR001", SpaceSize.MEDIUM, Duration.ofMinutes(15));
+
+        // Assert
+        assertEquals("M001", reservation.getSpaceId());
+        assertEquals(0, parkingLot.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertTrue(parkingLot.isFull());
+        assertEquals(0, parkingLot.getOccupiedSpaces());
+        assertThrows(NoAvailableSpaceException.class, () -> parkingLot.parkVehicle(new Car("CAR002")));
+        assertThrows(ParkingException.class,
+                () -> parkingLot.reserveSpace("CAR001", SpaceSize.MEDIUM, Duration.ofMinutes(15)));
+
+        ParkingTicket ticket = parkingLot.parkVehicle(new Car("CAR001"));
+        assertEquals("M001", ticket.getSpaceId());
+        assertNull(parkingLot.findReservation("CAR001"));
+        assertEquals(1, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void reserveSpace_SpecificSpace_ShouldBeSkippedByOtherVehicles() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 2, 0);
+        parkingLot.reserveSpace("CAR001", "M001", Duration.ofMinutes(15));
+
+        // Act
+        ParkingTicket otherTicket = parkingLot.parkVehicle(new Car("CAR002"));
+        List<ParkingResult<ParkingTicket>> results = parkingLot.parkVehicles(List.of(new Car("CAR001")));
+
+        // Assert
+        assertEquals("M002", otherTicket.getSpaceId());
+        assertEquals("M001", results.get(0).getValue().getSpaceId());
+        assertThrows(SpaceOccupiedException.class,
+                () -> parkingLot.reserveSpace("CAR003", "M002", Duration.ofMinutes(15)));
+        assertThrows(ParkingException.class,
+                () -> parkingLot.reserveSpace("CAR003", "M003", Duration.ofMinutes(15)));
+    }
+
+    @Test
+    public void reserveSpace_HeldSpaceTooSmall_ShouldParkElsewhereAndFreeHold() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 0, 1);
+        parkingLot.reserveSpace("TRUCK001", SpaceSize.SMALL, Duration.ofMinutes(15));
+
+        // Act
+        ParkingTicket ticket = parkingLot.parkVehicle(new Truck("TRUCK001"));
+
+        // Assert
+        assertEquals("L001", ticket.getSpaceId());
+        assertEquals(1, parkingLot.getAvailableSpaces(SpaceSize.SMALL));
+    }
+
+    @Test
+    public void cancelReservation_ShouldFreeHeldSpace() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 0, 0);
+        parkingLot.reserveSpace("MC001", SpaceSize.SMALL, Duration.ofMinutes(15));
+
+        // Act
+        boolean cancelled = parkingLot.cancelReservation("MC001");
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(parkingLot.cancelReservation("MC001"));
+        assertEquals(1, parkingLot.getAvailableSpaces(SpaceSize.SMALL));
+        assertEquals("S001", parkingLot.parkVehicle(new Motorcycle("MC002")).getSpaceId());
+    }
+
+    @Test
+    public void expireReservations_AfterHoldRunsOut_ShouldFreeEverySpace() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 2000, 0);
+        for (int i = 0; i < 1000; i++) {
+            parkingLot.reserveSpace(String.format("CAR%04d", i), SpaceSize.MEDIUM, Duration.ofMillis(50));
+        }
+        parkingLot.reserveSpace("CAR9999", SpaceSize.MEDIUM, Duration.ofHours(2));
+        parkingLot.parkVehicle(new Car("CAR0000"));
+
+        // Act
+        Thread.sleep(150);
+        parkingLot.expireReservations();
+
+        // Assert
+        for (int i = 1; i < 1000; i++) {
+            assertNull(parkingLot.findReservation(String.format("CAR%04d", i)));
+        }
+        assertEquals(0, parkingLot.expireReservations());
+        assertNotNull(parkingLot.findReservation("CAR9999"));
+        assertEquals(1998, parkingLot.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertEquals(1, parkingLot.getOccupiedSpaces());
+    }
+
+    @Test
+    public void getHeldSpaces_ShouldCountHoldsApartFromFreeAndOccupiedSpaces() throws ParkingException {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 2, 1);
+        parkingLot.reserveSpace("CAR001", SpaceSize.MEDIUM, Duration.ofHours(1));
+        parkingLot.parkVehicle(new Car("CAR002"));
+
+        // Act
+        AsyncParkingLotService asyncLot = new AsyncParkingLotService(parkingLot);
+
+        // Assert
+        assertEquals(1, parkingLot.getHeldSpaces(SpaceSize.MEDIUM));
+        assertEquals(1, parkingLot.getOccupiedSpaces(SpaceSize.MEDIUM));
+        assertEquals(0, parkingLot.getAvailableSpaces(SpaceSize.MEDIUM));
+        assertEquals(1, asyncLot.getHeldSpaces());
+        assertEquals(1, asyncLot.getOccupiedSpaces());
+        assertFalse(asyncLot.isFull());
+        asyncLot.close();
+    }
+
+    @Test
+    public void reserveSpace_RacingParkOfSamePlate_ShouldNeverLeaveHoldForParkedVehicle() throws Exception {
+        for (int round = 0; round < 2000; round++) {
+            // Arrange
+            ParkingLotService parkingLot = new ParkingLotService(0, 4, 0);
+            CompletableFuture<Void> start = new CompletableFuture<>();
+            CompletableFuture<Boolean> reserved = start.thenApplyAsync(ignored -> {
+                try {
+                    parkingLot.reserveSpace("CAR001", SpaceSize.MEDIUM, Duration.ofHours(1));
+                    return true;
+                } catch (ParkingException e) {
+                    return false;
+                }
+            });
+
+            // Act
+            start.complete(null);
+            parkingLot.parkVehicle(new Car("CAR001"));
+            reserved.get();
+
+            // Assert
+            assertEquals(1, parkingLot.getOccupiedSpaces());
+            assertEquals(0, parkingLot.getHeldSpaces());
+            assertNull(parkingLot.findReservation("CAR001"));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.parkinglot;
+
+import com.parkinglot.models.ParkingTicket;
+import com.parkinglot.services.TicketIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketIdTest {
+
+    @Test
+    public void formatTicketId_ShouldMatchStringFormat() {
+        // Arrange
+        long[] numbers = {0, 7, 1001, 999999, 1000000, 4_294_967_296L, Long.MAX_VALUE};
+
+        // Act & Assert
+        for (long number : numbers) {
+            assertEquals(String.format("T%06d", number), ParkingTicket.formatTicketId(number));
+        }
+    }
+
+    @Test
+    public void parseTicketNumber_CanonicalId_ShouldRoundTrip() {
+        // Arrange
+        long number = 3_000_000_000L;
+
+        // Act
+        long parsed = ParkingTicket.parseTicketNumber(ParkingTicket.formatTicketId(number));
+
+        // Assert
+        assertEquals(number, parsed);
+    }
+
+    @Test
+    public void parseTicketNumber_NonCanonicalId_ShouldReturnMinusOne() {
+        // Act & Assert
+        assertEquals(-1, ParkingTicket.parseTicketNumber(null));
+        assertEquals(-1, ParkingTicket.parseTicketNumber("INVALID"));
+        assertEquals(-1, ParkingTicket.parseTicketNumber("T001"));
+        assertEquals(-1, ParkingTicket.parseTicketNumber("T0001001"));
+        assertEquals(-1, ParkingTicket.parseTicketNumber("T00100A"));
+    }
+
+    @Test
+    public void ticket_CreatedFromNumber_ShouldRenderIdOnRead() {
+        // Arrange
+        ParkingTicket ticket = new ParkingTicket(1042, "CAR001", "M001", LocalDateTime.now());
+
+        // Act & Assert
+        assertEquals(1042, ticket.getTicketNumber());
+        assertEquals("T001042", ticket.getTicketId());
+    }
+
+    @Test
+    public void generator_ShouldIssueSequentialNumbersAndReserveBlocks() {
+        // Arrange
+        TicketIdGenerator generator = new TicketIdGenerator();
+
+        // Act
+        long first = generator.next();
+        long blockStart = generator.reserve(10);
+        long afterBlock = generator.next();
+
+        // Assert
+        assertEquals(1001, first);
+        assertEquals(1002, blockStart);
+        assertEquals(1012, afterBlock);
+    }
+
+    @Test
+    public void generator_PastIntRange_ShouldNotOverflow() {
+        // Arrange
+        TicketIdGenerator generator = new TicketIdGenerator(Integer.MAX_VALUE);
+
+        // Act
+        long number = generator.next();
+
+        // Assert
+        assertEquals(Integer.MAX_VALUE + 1L, number);
+        assertEquals("T2147483648", ParkingTicket.formatTicketId(number));
+    }
+}
@@ -0,0 +1,175 @@
+package com.parkinglot;
+
+import com.parkinglot.exceptions.NoAvailableSpaceException;
+import com.parkinglot.exceptions.ParkingException;
+import com.parkinglot.enums.SpaceSize;
+import com.parkinglot.models.*;
+import com.parkinglot.services.ParkingEventListener;
+import com.parkinglot.services.ParkingLotService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WaitlistTest {
+
+    @Test
+    public void parkVehicleAsync_LotFull_ShouldReceiveSpaceOnUnpark() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 1, 0);
+        ParkingTicket firstTicket = parkingLot.parkVehicle(new Car("CAR001"));
+        CompletableFuture<ParkingTicket> waiting = parkingLot.parkVehicleAsync(new Car("CAR002"), Duration.ofSeconds(30));
+
+        // Act
+        assertFalse(waiting.isDone());
+        parkingLot.unparkVehicle(firstTicket.getTicketId());
+
+        // Assert
+        assertTrue(waiting.isDone());
+        assertEquals("M001", waiting.get().getSpaceId());
+        assertEquals(0, parkingLot.getWaitingVehicleCount());
+        assertEquals(0, parkingLot.getAvailableSpaces().values().stream().mapToInt(Integer::intValue).sum());
+        assertNotNull(parkingLot.findVehicleByLicensePlate("CAR002"));
+    }
+
+    @Test
+    public void parkVehicleAsync_Timeout_ShouldFailAndReleasePlate() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 1, 0);
+        ParkingTicket firstTicket = parkingLot.parkVehicle(new Car("CAR001"));
+        CompletableFuture<ParkingTicket> waiting = parkingLot.parkVehicleAsync(new Car("CAR002"), Duration.ofMillis(50));
+        assertThrows(ParkingException.class, () -> parkingLot.parkVehicle(new Car("CAR002")));
+
+        // Act
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertTrue(thrown.getCause() instanceof NoAvailableSpaceException);
+        assertEquals(0, parkingLot.getWaitingVehicleCount());
+        parkingLot.unparkVehicle(firstTicket.getTicketId());
+        assertEquals("M001", parkingLot.parkVehicle(new Car("CAR002")).getSpaceId());
+        assertThrows(NoAvailableSpaceException.class,
+                () -> parkingLot.parkVehicle(new Car("CAR003"), Duration.ZERO));
+    }
+
+    @Test
+    public void unparkVehicle_ShouldHandSpaceToLongestWaitingVehicleThatFits() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 1, 1);
+        ParkingTicket carTicket = parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.parkVehicle(new Truck("TRUCK001"));
+        CompletableFuture<ParkingTicket> truck = parkingLot.parkVehicleAsync(new Truck("TRUCK002"), Duration.ofSeconds(30));
+        CompletableFuture<ParkingTicket> car = parkingLot.parkVehicleAsync(new Car("CAR002"), Duration.ofSeconds(30));
+        CompletableFuture<ParkingTicket> motorcycle = parkingLot.parkVehicleAsync(new Motorcycle("MC001"), Duration.ofSeconds(30));
+
+        // Act
+        parkingLot.unparkVehicle(carTicket.getTicketId());
+
+        // Assert
+        assertFalse(truck.isDone());
+        assertEquals("M001", car.get().getSpaceId());
+        assertFalse(motorcycle.isDone());
+        assertEquals(2, parkingLot.getWaitingVehicleCount());
+
+        parkingLot.unparkVehicle(car.get().getTicketId());
+        assertEquals("M001", motorcycle.get().getSpaceId());
+        assertTrue(truck.cancel(false));
+        assertEquals(0, parkingLot.getWaitingVehicleCount());
+    }
+
+    @Test
+    public void parkVehicle_WithTimeout_ShouldBlockUntilSpaceIsFreed() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 0, 0);
+        ParkingTicket firstTicket = parkingLot.parkVehicle(new Motorcycle("MC001"));
+        CompletableFuture<ParkingTicket> gate = CompletableFuture.supplyAsync(() -> {
+            try {
+                return parkingLot.parkVehicle(new Motorcycle("MC002"), Duration.ofSeconds(30));
+            } catch (ParkingException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (parkingLot.getWaitingVehicleCount() == 0) {
+            Thread.sleep(1);
+        }
+
+        // Act
+        parkingLot.unparkVehicle(firstTicket.getTicketId());
+
+        // Assert
+        assertEquals("S001", gate.get(5, TimeUnit.SECONDS).getSpaceId());
+    }
+
+    @Test
+    public void parkVehicle_InterruptedAsWaitTimesOut_ShouldThrowCheckedException() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(1, 0, 0);
+        parkingLot.parkVehicle(new Motorcycle("MC001"));
+        List<Throwable> failures = new ArrayList<>();
+
+        // Act
+        for (int round = 0; round < 2000; round++) {
+            Thread gate = new Thread(() -> {
+                try {
+                    parkingLot.parkVehicle(new Motorcycle("MC002"), Duration.ofNanos(50_000));
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            gate.start();
+            gate.interrupt();
+            gate.join();
+        }
+
+        // Assert
+        assertEquals(2000, failures.size());
+        for (Throwable failure : failures) {
+            assertTrue(failure instanceof InterruptedException || failure instanceof NoAvailableSpaceException,
+                    failure::toString);
+        }
+        assertEquals(0, parkingLot.getWaitingVehicleCount());
+    }
+
+    @Test
+    public void unparkVehicle_ListenerThrowsForWaiter_ShouldStillEndEveryWait() throws Exception {
+        // Arrange
+        ParkingLotService parkingLot = new ParkingLotService(0, 3, 0);
+        parkingLot.addEventListener(new ParkingEventListener() {
+            @Override
+            public void onVehicleParked(ParkingTicket ticket, Vehicle vehicle) {
+                if (vehicle.getLicensePlate().startsWith("BROKEN")) {
+                    throw new AssertionError("Listener failed");
+                }
+            }
+
+            @Override
+            public void onVehicleUnparked(ParkingTicket ticket, Vehicle vehicle, long feeCents) {
+            }
+        });
+        ParkingTicket parked = parkingLot.parkVehicle(new Car("CAR001"));
+        parkingLot.reserveSpace("HOLD001", SpaceSize.MEDIUM, Duration.ofMillis(50));
+        parkingLot.reserveSpace("HOLD002", SpaceSize.MEDIUM, Duration.ofMillis(50));
+        CompletableFuture<ParkingTicket> handedOver = parkingLot.parkVehicleAsync(new Car("BROKEN1"), Duration.ofSeconds(30));
+        CompletableFuture<ParkingTicket> served = parkingLot.parkVehicleAsync(new Car("BROKEN2"), Duration.ofSeconds(30));
+        CompletableFuture<ParkingTicket> servedAfter = parkingLot.parkVehicleAsync(new Car("CAR002"), Duration.ofSeconds(30));
+
+        // Act
+        parkingLot.unparkVehicle(parked.getTicketId());
+        Thread.sleep(100);
+        parkingLot.expireReservations();
+
+        // Assert
+        ExecutionException handOverFailure = assertThrows(ExecutionException.class, () -> handedOver.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, handOverFailure.getCause());
+        ExecutionException serveFailure = assertThrows(ExecutionException.class, () -> served.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, serveFailure.getCause());
+        assertEquals("CAR002", servedAfter.get(5, TimeUnit.SECONDS).getLicensePlate());
+        assertEquals(0, parkingLot.getWaitingVehicleCount());
+    }
+}